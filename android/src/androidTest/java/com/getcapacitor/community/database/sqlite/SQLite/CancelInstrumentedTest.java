@@ -0,0 +1,189 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.community.database.sqlite.MyRunnable;
+import com.getcapacitor.community.database.sqlite.NotificationCenter;
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * A cancelled request fails at its next statement or row and
+ * its transaction is rolled back
+ */
+@RunWith(AndroidJUnit4.class)
+public class CancelInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String DB_NAME = "cancelSQLite.db";
+    private RequestRegistry registry;
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Before
+    public void createUsers() throws Exception {
+        db.execute(new String[] { "CREATE TABLE users (id INTEGER PRIMARY KEY NOT NULL, name TEXT NOT NULL);" });
+        registry = new RequestRegistry();
+    }
+
+    @Test
+    public void cancelWhileQueued() throws Exception {
+        final Exception[] error = new Exception[1];
+        RequestRegistry.Request request = registry.register("queued");
+        Runnable task = registry.wrap(
+            request,
+            new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        db.execute(new String[] { "INSERT INTO users VALUES (1, 'one');" });
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                }
+            }
+        );
+
+        assertTrue(registry.cancel("queued"));
+        task.run();
+
+        assertNotNull(error[0]);
+        assertTrue(error[0].getMessage(), error[0].getMessage().contains("Request queued cancelled"));
+        assertEquals(0, countRows("users"));
+        // the request is unregistered once run
+        assertFalse(registry.cancel("queued"));
+    }
+
+    @Test
+    public void cancelBetweenStatements() throws Exception {
+        final Exception[] error = new Exception[1];
+        RequestRegistry.Request request = registry.register("running");
+        Runnable task = registry.wrap(
+            request,
+            new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        db.execute(new String[] { "INSERT INTO users VALUES (1, 'one');" });
+                        registry.cancel("running");
+                        db.execute(new String[] { "INSERT INTO users VALUES (2, 'two');" });
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                }
+            }
+        );
+
+        task.run();
+
+        assertNotNull(error[0]);
+        assertTrue(error[0].getMessage(), error[0].getMessage().contains("cancelled"));
+        assertEquals(1, countRows("users"));
+    }
+
+    @Test
+    public void cancelWithinAnExecute() throws Exception {
+        final Exception[] error = new Exception[1];
+        // every statement is recorded as slow, the record of
+        // the first insert cancels the request
+        db.getSlowQueryLog().configure(0, 10, true);
+        MyRunnable canceller = new MyRunnable() {
+            @Override
+            public void run() {
+                registry.cancel("execute");
+            }
+        };
+        NotificationCenter.defaultCenter().addMethodForNotification("slowQuery", canceller);
+        try {
+            RequestRegistry.Request request = registry.register("execute");
+            registry
+                .wrap(
+                    request,
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                db.execute(
+                                    new String[] { "INSERT INTO users VALUES (1, 'one');", "INSERT INTO users VALUES (2, 'two');" }
+                                );
+                            } catch (Exception e) {
+                                error[0] = e;
+                            }
+                        }
+                    }
+                )
+                .run();
+        } finally {
+            NotificationCenter.defaultCenter().removeMethodForNotification("slowQuery", canceller);
+        }
+
+        assertNotNull(error[0]);
+        assertTrue(error[0].getMessage(), error[0].getMessage().contains("cancelled"));
+        // the first insert of the call is rolled back with it
+        assertEquals(0, countRows("users"));
+    }
+
+    @Test
+    public void cancelledQueryStopsReading() throws Exception {
+        db.execute(
+            new String[] {
+                "WITH RECURSIVE seq(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < 100) " +
+                "INSERT INTO users SELECT i, 'user' || i FROM seq;"
+            }
+        );
+        final Exception[] error = new Exception[1];
+        RequestRegistry.Request request = registry.register("query");
+        Runnable task = registry.wrap(
+            request,
+            new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        db.selectSQL("SELECT * FROM users;", new ArrayList<Object>());
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                }
+            }
+        );
+
+        registry.cancel("query");
+        task.run();
+
+        assertNotNull(error[0]);
+        assertTrue(error[0].getMessage(), error[0].getMessage().contains("cancelled"));
+    }
+
+    @Test
+    public void otherRequestsRun() throws Exception {
+        final Exception[] error = new Exception[1];
+        RequestRegistry.Request cancelled = registry.register("cancelled");
+        RequestRegistry.Request other = registry.register("other");
+        registry.cancel("cancelled");
+        registry
+            .wrap(
+                other,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            db.execute(new String[] { "INSERT INTO users VALUES (1, 'one');" });
+                        } catch (Exception e) {
+                            error[0] = e;
+                        }
+                    }
+                }
+            )
+            .run();
+
+        assertNull(error[0]);
+        assertEquals(1, countRows("users"));
+        assertTrue(registry.cancel("cancelled"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * Close waits for the calls in flight, a call starting
+ * while closing is rejected instead of run
+ */
+@RunWith(AndroidJUnit4.class)
+public class CloseInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String DB_NAME = "closeSQLite.db";
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Test
+    public void callStartingWhileClosingIsRejected() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Exception[] error = new Exception[1];
+        // a call in flight holds its lease until released
+        Thread inFlight = new Thread(
+            db.leased(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        started.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            )
+        );
+        inFlight.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Thread closing = new Thread(
+            new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        db.close();
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                }
+            }
+        );
+        closing.start();
+        // the close waits for the call in flight
+        while (db.isOpen()) {
+            Thread.sleep(10);
+        }
+
+        final boolean[] ran = new boolean[1];
+        final String[] rejected = new String[1];
+        db
+            .leased(
+                new Database.Rejectable() {
+                    @Override
+                    public void run() {
+                        ran[0] = true;
+                    }
+
+                    @Override
+                    public void reject(String message) {
+                        rejected[0] = message;
+                    }
+                }
+            )
+            .run();
+        assertFalse(ran[0]);
+        assertEquals("database closed", rejected[0]);
+
+        release.countDown();
+        inFlight.join(10000);
+        closing.join(10000);
+        assertNull(error[0]);
+        assertFalse(db.isOpen());
+    }
+}
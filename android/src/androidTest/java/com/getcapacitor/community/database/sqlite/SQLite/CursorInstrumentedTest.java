@@ -0,0 +1,119 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import net.sqlcipher.Cursor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * Paged fetches of a cursor handle
+ */
+@RunWith(AndroidJUnit4.class)
+public class CursorInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String DB_NAME = "cursorSQLite.db";
+    private static final String SELECT = "SELECT id, name FROM users ORDER BY id;";
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Before
+    public void insertUsers() throws Exception {
+        db.execute(
+            new String[] {
+                "CREATE TABLE users (id INTEGER PRIMARY KEY NOT NULL, name TEXT NOT NULL);",
+                "WITH RECURSIVE seq(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < 25) " +
+                "INSERT INTO users SELECT i, 'user' || i FROM seq;"
+            }
+        );
+    }
+
+    @Test
+    public void fetchPagesUntilDone() throws Exception {
+        int handle = db.openCursor(SELECT, new ArrayList<Object>());
+        int next = 1;
+        int[] pages = { 10, 10, 5 };
+        for (int p = 0; p < pages.length; p++) {
+            JSObject page = db.fetchCursor(handle, 10);
+            JSArray rows = (JSArray) page.get("values");
+            assertEquals(pages[p], rows.length());
+            assertEquals(p == pages.length - 1, page.getBool("done"));
+            for (int i = 0; i < rows.length(); i++) {
+                assertEquals(next, rows.getJSONObject(i).getLong("id"));
+                next++;
+            }
+        }
+        // the exhausted cursor was closed
+        assertFalse(db.closeCursor(handle));
+        try {
+            db.fetchCursor(handle, 10);
+            fail("the cursor should be closed");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("does not exist"));
+        }
+    }
+
+    @Test
+    public void lastFullPageIsFollowedByAnEmptyOne() throws Exception {
+        int handle = db.openCursor("SELECT id FROM users WHERE id <= ?;", values(20));
+        assertFalse(db.fetchCursor(handle, 10).getBool("done"));
+        assertFalse(db.fetchCursor(handle, 10).getBool("done"));
+        JSObject page = db.fetchCursor(handle, 10);
+        assertEquals(0, ((JSArray) page.get("values")).length());
+        assertTrue(page.getBool("done"));
+    }
+
+    @Test
+    public void closeBeforeDone() throws Exception {
+        int handle = db.openCursor(SELECT, new ArrayList<Object>());
+        assertEquals(5, ((JSArray) db.fetchCursor(handle, 5).get("values")).length());
+        assertTrue(db.closeCursor(handle));
+        assertFalse(db.closeCursor(handle));
+    }
+
+    @Test
+    public void cursorKeepsASpareReader() throws Exception {
+        db.close();
+        db = openDatabase(true, 2);
+        ReaderPool pool = db.getReaderPool();
+        assertEquals(2, pool.getIdleCount());
+
+        int first = db.openCursor(SELECT, new ArrayList<Object>());
+        assertEquals(1, pool.getIdleCount());
+        // the last idle handle is kept for the read calls
+        int second = db.openCursor(SELECT, new ArrayList<Object>());
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(10, ((JSArray) db.fetchCursor(first, 10).get("values")).length());
+        assertEquals(10, ((JSArray) db.fetchCursor(second, 10).get("values")).length());
+
+        assertTrue(db.closeCursor(first));
+        assertEquals(2, pool.getIdleCount());
+        assertTrue(db.closeCursor(second));
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void idleCursorTimesOut() throws Exception {
+        CursorRegistry cursors = new CursorRegistry(db, 50);
+        int handle = cursors.register((Cursor) db.getDb().query(SELECT, new Object[0]));
+        assertEquals(1, cursors.size());
+        Thread.sleep(200);
+        try {
+            cursors.get(handle);
+            fail("the idle cursor should be closed");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("timed out"));
+        }
+        assertEquals(0, cursors.size());
+        cursors.closeAll();
+    }
+}
@@ -0,0 +1,74 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.content.Context;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.getcapacitor.JSArray;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+
+/**
+ * Base of the instrumented tests, each test runs on a new
+ * database opened before it and deleted after it
+ */
+public abstract class DatabaseInstrumentedTest {
+
+    protected Context context;
+    protected Database db;
+
+    /**
+     * GetDatabaseName Method
+     * @return the file name of the test database
+     */
+    protected abstract String getDatabaseName();
+
+    @Before
+    public void openDatabase() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(getDatabaseName());
+        db = openDatabase(false, 0);
+    }
+
+    @After
+    public void deleteDatabase() throws Exception {
+        if (db.isOpen()) db.close();
+        context.deleteDatabase(getDatabaseName());
+    }
+
+    /**
+     * OpenDatabase Method
+     * @param wal true to open the database in WAL mode
+     * @param readers the number of read-only handles in WAL mode
+     * @return a new connection to the test database
+     * @throws Exception
+     */
+    protected Database openDatabase(boolean wal, int readers) throws Exception {
+        Database database = new Database(
+            context,
+            getDatabaseName(),
+            false,
+            "no-encryption",
+            1,
+            new Hashtable<Integer, JSONObject>(),
+            context.getSharedPreferences("instrumentedTest", Context.MODE_PRIVATE)
+        );
+        if (wal) database.setWalMode(true, readers);
+        database.open();
+        return database;
+    }
+
+    protected int countRows(String table) throws Exception {
+        JSArray res = db.selectSQL("SELECT COUNT(*) AS count FROM " + table + ";", new ArrayList<Object>());
+        return res.getJSONObject(0).getInt("count");
+    }
+
+    protected ArrayList<Object> values(Object... vals) {
+        ArrayList<Object> values = new ArrayList<>();
+        for (Object val : vals) {
+            values.add(val);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,203 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * executeSet with one set entry per row and with a set of value
+ * arrays compiled once
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExecuteSetInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String TAG = ExecuteSetInstrumentedTest.class.getName();
+    private static final String DB_NAME = "executeSetSQLite.db";
+    private static final String INSERT = "INSERT INTO users (name, age, score) VALUES (?,?,?);";
+    private static final int ROWS = 10000;
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Before
+    public void createTable() throws Exception {
+        db.execute(
+            new String[] { "CREATE TABLE IF NOT EXISTS users (id INTEGER PRIMARY KEY NOT NULL, name TEXT, age INTEGER, score REAL);" }
+        );
+    }
+
+    @Test
+    public void bulkSetReturnsChangesAndLastId() throws Exception {
+        JSArray set = new JSArray();
+        set.put(bulkEntry(ROWS));
+
+        JSObject ret = db.executeSet(set);
+
+        assertEquals(ROWS, ret.getInteger("changes").intValue());
+        assertEquals(ROWS, ret.getLong("lastId"));
+        assertEquals(ROWS, countRows("users"));
+        JSArray last = db.selectSQL("SELECT name, age FROM users WHERE id = ?;", values(ROWS));
+        assertEquals("user" + (ROWS - 1), last.getJSONObject(0).getString("name"));
+    }
+
+    @Test
+    public void bulkSetFollowsPreviousEntries() throws Exception {
+        JSArray set = new JSArray();
+        set.put(rowEntry(0));
+        set.put(bulkEntry(100));
+
+        JSObject ret = db.executeSet(set);
+
+        assertEquals(101, ret.getInteger("changes").intValue());
+        assertEquals(101, ret.getLong("lastId"));
+        assertEquals(101, countRows("users"));
+    }
+
+    @Test
+    public void bulkSetRollsBackOnFailure() throws Exception {
+        db.execute(new String[] { "CREATE UNIQUE INDEX users_name ON users (name);" });
+        JSArray set = new JSArray();
+        JSObject entry = bulkEntry(100);
+        // the last row conflicts with the first one
+        JSArray rows = (JSArray) entry.get("values");
+        rows.put(row(0));
+        set.put(entry);
+
+        try {
+            db.executeSet(set);
+            fail("executeSet should fail on the unique constraint");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("UNIQUE"));
+        }
+        assertEquals(0, countRows("users"));
+    }
+
+    @Test
+    public void benchmarkPerRowAndCompileOnce() throws Exception {
+        JSArray perRow = new JSArray();
+        for (int i = 0; i < ROWS; i++) {
+            perRow.put(rowEntry(i));
+        }
+        JSArray compileOnce = new JSArray();
+        compileOnce.put(bulkEntry(ROWS));
+
+        long start = System.nanoTime();
+        long legacyLastId = compilePerRow();
+        long legacyMs = elapsedMs(start);
+        JSArray legacyData = selectAll();
+
+        resetTable();
+        start = System.nanoTime();
+        JSObject retPerRow = db.executeSet(perRow);
+        long perRowMs = elapsedMs(start);
+        JSArray perRowData = selectAll();
+
+        resetTable();
+        start = System.nanoTime();
+        JSObject retCompileOnce = db.executeSet(compileOnce);
+        long compileOnceMs = elapsedMs(start);
+        JSArray compileOnceData = selectAll();
+
+        Log.i(
+            TAG,
+            "executeSet " +
+            ROWS +
+            " rows: compiled per row " +
+            rowsPerSecond(legacyMs) +
+            " rows/s, one entry per row " +
+            rowsPerSecond(perRowMs) +
+            " rows/s, compiled once " +
+            rowsPerSecond(compileOnceMs) +
+            " rows/s"
+        );
+        assertEquals(ROWS, retCompileOnce.getInteger("changes").intValue());
+        assertEquals(retPerRow.getInteger("changes"), retCompileOnce.getInteger("changes"));
+        assertEquals(legacyLastId, retCompileOnce.getLong("lastId"));
+        assertEquals(retPerRow.getLong("lastId"), retCompileOnce.getLong("lastId"));
+        assertEquals(legacyData.toString(), compileOnceData.toString());
+        assertEquals(perRowData.toString(), compileOnceData.toString());
+    }
+
+    /**
+     * The executeSet loop before the statement cache, each row
+     * compiles and closes its own statement
+     * @return the lastId
+     */
+    private long compilePerRow() throws Exception {
+        SupportSQLiteDatabase sqlDb = db.getDb();
+        long lastId = -1;
+        sqlDb.beginTransaction();
+        try {
+            for (int i = 0; i < ROWS; i++) {
+                SupportSQLiteStatement stmt = sqlDb.compileStatement(INSERT);
+                try {
+                    stmt.bindString(1, "user" + i);
+                    stmt.bindLong(2, 20 + i % 50);
+                    stmt.bindDouble(3, i * 0.5);
+                    lastId = stmt.executeInsert();
+                } finally {
+                    stmt.close();
+                }
+            }
+            sqlDb.setTransactionSuccessful();
+        } finally {
+            sqlDb.endTransaction();
+        }
+        return lastId;
+    }
+
+    private void resetTable() throws Exception {
+        db.execute(new String[] { "DROP TABLE users;" });
+        createTable();
+    }
+
+    private JSArray selectAll() throws Exception {
+        return db.selectSQL("SELECT name, age, score FROM users ORDER BY id;", new ArrayList<Object>());
+    }
+
+    private long elapsedMs(long start) {
+        return Math.max(1, (System.nanoTime() - start) / 1000000);
+    }
+
+    private long rowsPerSecond(long ms) {
+        return ROWS * 1000L / ms;
+    }
+
+    private JSObject rowEntry(int i) throws Exception {
+        JSObject entry = new JSObject();
+        entry.put("statement", INSERT);
+        entry.put("values", row(i));
+        return entry;
+    }
+
+    private JSObject bulkEntry(int count) throws Exception {
+        JSArray rows = new JSArray();
+        for (int i = 0; i < count; i++) {
+            rows.put(row(i));
+        }
+        JSObject entry = new JSObject();
+        entry.put("statement", INSERT);
+        entry.put("values", rows);
+        return entry;
+    }
+
+    private JSArray row(int i) throws Exception {
+        JSArray row = new JSArray();
+        row.put("user" + i);
+        row.put(20 + i % 50);
+        row.put(i * 0.5);
+        return row;
+    }
+}
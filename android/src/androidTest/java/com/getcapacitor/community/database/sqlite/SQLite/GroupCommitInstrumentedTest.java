@@ -0,0 +1,98 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * A failing write of a group is rolled back to its savepoint,
+ * the other writes of the group are committed
+ */
+@RunWith(AndroidJUnit4.class)
+public class GroupCommitInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String DB_NAME = "groupCommitSQLite.db";
+    private static final String INSERT = "INSERT INTO users (id, name) VALUES (?,?);";
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Before
+    public void createUsers() throws Exception {
+        db.execute(new String[] { "CREATE TABLE users (id INTEGER PRIMARY KEY NOT NULL, name TEXT NOT NULL);" });
+    }
+
+    @Test
+    public void failingWriteIsRolledBackAlone() throws Exception {
+        GroupCommit group = db.getGroupCommit();
+        group.configure(1000, 4);
+        final JSObject[] results = new JSObject[4];
+        final String[] errors = new String[4];
+        final CountDownLatch done = new CountDownLatch(4);
+
+        // the third write conflicts with the first one, the
+        // fourth reaches maxBatch and flushes the group
+        group.submit(INSERT, values(1, "first"), collect(0, results, errors, done));
+        group.submit(INSERT, values(2, "second"), collect(1, results, errors, done));
+        group.submit(INSERT, values(1, "conflict"), collect(2, results, errors, done));
+        group.submit("UPDATE users SET name = ? WHERE id = ?;", values("updated", 2), collect(3, results, errors, done));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertNull(errors[0]);
+        assertNull(errors[1]);
+        assertNotNull(errors[2]);
+        assertTrue(errors[2], errors[2].contains("UNIQUE"));
+        assertNull(results[2]);
+        assertNull(errors[3]);
+        assertEquals(1, results[0].getLong("lastId"));
+        assertEquals(1, results[3].getInteger("changes").intValue());
+
+        JSArray rows = db.selectSQL("SELECT id, name FROM users ORDER BY id;", new ArrayList<Object>());
+        assertEquals(2, rows.length());
+        assertEquals("first", rows.getJSONObject(0).getString("name"));
+        assertEquals("updated", rows.getJSONObject(1).getString("name"));
+        JSObject stats = group.getStats();
+        assertEquals(1, stats.getLong("batches"));
+        assertEquals(4, stats.getLong("statements"));
+    }
+
+    @Test
+    public void closeFailsPendingWrites() throws Exception {
+        GroupCommit group = db.getGroupCommit();
+        group.configure(60000, 50);
+        final JSObject[] results = new JSObject[1];
+        final String[] errors = new String[1];
+        final CountDownLatch done = new CountDownLatch(1);
+
+        group.submit(INSERT, values(1, "pending"), collect(0, results, errors, done));
+        group.closeAll();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertNull(results[0]);
+        assertNotNull(errors[0]);
+        JSArray rows = db.selectSQL("SELECT id FROM users;", new ArrayList<Object>());
+        assertEquals(0, rows.length());
+    }
+
+    private GroupCommit.Callback collect(final int i, final JSObject[] results, final String[] errors, final CountDownLatch done) {
+        return new GroupCommit.Callback() {
+            @Override
+            public void onResult(JSObject result, String error) {
+                results[i] = result;
+                errors[i] = error;
+                done.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static org.junit.Assert.*;
+
+import android.util.Log;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ImportFromJsonStream;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.JsonSQLite;
+import java.io.StringReader;
+import java.util.ArrayList;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * Full and partial imports of the Json object and of the Json
+ * stream, the rows are bound to an INSERT or an UPSERT compiled
+ * once per table
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImportFromJsonInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String TAG = ImportFromJsonInstrumentedTest.class.getName();
+    private static final String DB_NAME = "importSQLite.db";
+    private static final int BENCH_TABLES = 10;
+    private static final int BENCH_ROWS = 10000;
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Test
+    public void fullAndPartialImportFromObject() throws Exception {
+        JSObject ret = db.importFromJson(toJsonSQLite(createJson("full", 2, 1, 10, "full")));
+        assertTrue(ret.getInteger("changes") >= 20);
+        assertEquals(10, countRows("t0"));
+        assertEquals(10, countRows("t1"));
+
+        // rows 6 to 10 are updated, rows 11 to 15 are inserted
+        db.importFromJson(toJsonSQLite(createJson("partial", 2, 6, 10, "partial")));
+        checkPartialImport();
+    }
+
+    @Test
+    public void fullAndPartialImportFromStream() throws Exception {
+        JSObject ret = importStream(createJson("full", 2, 1, 10, "full"), false);
+        assertTrue(ret.getInteger("changes") >= 20);
+        assertEquals(10, countRows("t0"));
+        assertEquals(10, countRows("t1"));
+
+        importStream(createJson("partial", 2, 6, 10, "partial"), false);
+        checkPartialImport();
+    }
+
+    @Test
+    public void partialImportFailsWhenNoRowIsWritten() throws Exception {
+        importStream(createJson("full", 1, 1, 5, "full"), false);
+        // the UPSERT of each row is then ignored, its changes are 0
+        db.execute(new String[] { "CREATE TRIGGER t0_ignore BEFORE INSERT ON t0 BEGIN SELECT RAISE(IGNORE); END;" });
+
+        try {
+            db.importFromJson(toJsonSQLite(createJson("partial", 1, 6, 5, "partial")));
+            fail("the partial import should fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("lastId < 0"));
+        }
+        try {
+            importStream(createJson("partial", 1, 6, 5, "partial"), false);
+            fail("the partial import should fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("lastId < 0"));
+        }
+        assertEquals(5, countRows("t0"));
+    }
+
+    @Test
+    public void failedStreamImportIsRolledBack() throws Exception {
+        importStream(createJson("full", 2, 1, 5, "full"), false);
+        db.execute(new String[] { "CREATE TRIGGER t1_ignore BEFORE INSERT ON t1 BEGIN SELECT RAISE(IGNORE); END;" });
+
+        // t0 is written before t1 fails, the whole import is undone
+        try {
+            importStream(createJson("partial", 2, 6, 5, "partial"), false);
+            fail("the partial import should fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("lastId < 0"));
+        }
+        assertEquals(5, countRows("t0"));
+
+        // a row of the last table has a missing value, the tables
+        // dropped and the rows loaded before are restored
+        String json = createJson("full", 2, 1, 10, "new").replace("[10,\"name10-new\",10.5]", "[10,\"name10-new\"]");
+        try {
+            importStream(json, false);
+            fail("the full import should fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not correct length"));
+        }
+        assertEquals(5, countRows("t0"));
+        assertEquals(5, countRows("t1"));
+        assertEquals("name1-full", getName("t0", 1));
+    }
+
+    @Test
+    public void benchmarkImport() throws Exception {
+        int rows = BENCH_TABLES * BENCH_ROWS;
+        String json = createJson("full", BENCH_TABLES, 1, BENCH_ROWS, "bench");
+
+        long start = System.nanoTime();
+        importStream(json, true);
+        long streamMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+        for (int i = 0; i < BENCH_TABLES; i++) {
+            assertEquals(BENCH_ROWS, countRows("t" + i));
+        }
+
+        start = System.nanoTime();
+        db.importFromJson(toJsonSQLite(json), true);
+        long objectMs = Math.max(1, (System.nanoTime() - start) / 1000000);
+        for (int i = 0; i < BENCH_TABLES; i++) {
+            assertEquals(BENCH_ROWS, countRows("t" + i));
+        }
+
+        Log.i(
+            TAG,
+            "import " +
+            rows +
+            " rows in " +
+            BENCH_TABLES +
+            " tables: stream " +
+            streamMs +
+            " ms (" +
+            (rows * 1000L / streamMs) +
+            " rows/s), object " +
+            objectMs +
+            " ms (" +
+            (rows * 1000L / objectMs) +
+            " rows/s)"
+        );
+    }
+
+    private void checkPartialImport() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            String table = "t" + i;
+            assertEquals(15, countRows(table));
+            assertEquals("name1-full", getName(table, 1));
+            assertEquals("name6-partial", getName(table, 6));
+            assertEquals("name15-partial", getName(table, 15));
+        }
+    }
+
+    private JSObject importStream(String json, boolean bulkLoad) throws Exception {
+        ImportFromJsonStream stream = new ImportFromJsonStream(new StringReader(json));
+        try {
+            stream.setBulkLoad(bulkLoad);
+            assertTrue(stream.readHeader());
+            return db.importFromJson(stream);
+        } finally {
+            stream.close();
+        }
+    }
+
+    private JsonSQLite toJsonSQLite(String json) throws Exception {
+        JsonSQLite jsonSQL = new JsonSQLite();
+        assertTrue(jsonSQL.isJsonSQLite(new JSObject(json)));
+        return jsonSQL;
+    }
+
+    /**
+     * Create a Json document of tables t0, t1, ... with the
+     * rows first to first + count - 1
+     */
+    private String createJson(String mode, int tables, int first, int count, String label) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"database\":\"import\",\"version\":1,\"encrypted\":false,\"mode\":\"").append(mode).append("\",\"tables\":[");
+        for (int i = 0; i < tables; i++) {
+            if (i > 0) sb.append(",");
+            sb.append("{\"name\":\"t").append(i).append("\",\"schema\":[");
+            sb.append("{\"column\":\"id\",\"value\":\"INTEGER PRIMARY KEY NOT NULL\"},");
+            sb.append("{\"column\":\"name\",\"value\":\"TEXT NOT NULL\"},");
+            sb.append("{\"column\":\"score\",\"value\":\"REAL\"}");
+            sb.append("],\"indexes\":[{\"name\":\"t").append(i).append("_name\",\"value\":\"name\"}],\"values\":[");
+            for (int id = first; id < first + count; id++) {
+                if (id > first) sb.append(",");
+                sb.append("[").append(id).append(",\"name").append(id).append("-").append(label).append("\",").append(id).append(".5]");
+            }
+            sb.append("]}");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private String getName(String table, int id) throws Exception {
+        ArrayList<Object> values = new ArrayList<>();
+        values.add(id);
+        JSArray res = db.selectSQL("SELECT name FROM " + table + " WHERE id = ?;", values);
+        return res.getJSONObject(0).getString("name");
+    }
+}
@@ -0,0 +1,179 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static android.database.Cursor.FIELD_TYPE_BLOB;
+import static android.database.Cursor.FIELD_TYPE_FLOAT;
+import static android.database.Cursor.FIELD_TYPE_INTEGER;
+import static android.database.Cursor.FIELD_TYPE_NULL;
+import static android.database.Cursor.FIELD_TYPE_STRING;
+import static org.junit.Assert.*;
+
+import android.util.Log;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import net.sqlcipher.Cursor;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented test, which will execute on an Android device.
+ * selectSQL decoding the rows with RowDecoder returns the same
+ * values as the former decoding looking up each column by name
+ */
+@RunWith(AndroidJUnit4.class)
+public class RowDecoderInstrumentedTest extends DatabaseInstrumentedTest {
+
+    private static final String TAG = RowDecoderInstrumentedTest.class.getName();
+    private static final String DB_NAME = "rowDecoderSQLite.db";
+    private static final String SELECT = "SELECT * FROM wide ORDER BY id;";
+    private static final int COLUMNS = 60;
+    private static final int ROWS = 2000;
+
+    @Override
+    protected String getDatabaseName() {
+        return DB_NAME;
+    }
+
+    @Test
+    public void decodedValuesMatchFormerDecoding() throws Exception {
+        JSArray expected = legacySelectSQL(SELECT);
+        JSArray actual = db.selectSQL(SELECT, new ArrayList<Object>());
+
+        assertEquals(ROWS, actual.length());
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            JSONObject expRow = expected.getJSONObject(i);
+            JSONObject row = actual.getJSONObject(i);
+            assertEquals(expRow.length(), row.length());
+            for (int k = 0; k <= COLUMNS; k++) {
+                String name = k == 0 ? "id" : "c" + k;
+                assertSameValue(name, expRow.get(name), row.get(name));
+            }
+        }
+    }
+
+    @Test
+    public void decodedTypes() throws Exception {
+        JSArray actual = db.selectSQL(SELECT, new ArrayList<Object>());
+        JSONObject row = actual.getJSONObject(1);
+
+        assertTrue(row.get("id") instanceof Long);
+        assertTrue(row.get("c1") instanceof Long);
+        assertTrue(row.get("c2") instanceof Double);
+        assertTrue(row.get("c3") instanceof String);
+        assertTrue(row.get("c4") instanceof byte[]);
+        assertTrue(row.get("c5") == JSONObject.NULL);
+        // a column holding a different storage class on each row
+        assertTrue(row.get("c" + COLUMNS) instanceof String);
+        assertTrue(actual.getJSONObject(0).get("c" + COLUMNS) instanceof Long);
+    }
+
+    @Test
+    public void benchmarkWideTable() throws Exception {
+        long start = System.nanoTime();
+        legacySelectSQL(SELECT);
+        long legacyMs = (System.nanoTime() - start) / 1000000;
+        start = System.nanoTime();
+        db.selectSQL(SELECT, new ArrayList<Object>());
+        long decoderMs = (System.nanoTime() - start) / 1000000;
+        Log.i(TAG, "selectSQL " + ROWS + " rows x " + COLUMNS + " columns: by name " + legacyMs + " ms, RowDecoder " + decoderMs + " ms");
+    }
+
+    /**
+     * Create a table whose columns cycle through the INTEGER, REAL,
+     * TEXT, BLOB and NULL storage classes, the last one changing
+     * of storage class on each row
+     */
+    @Before
+    public void createWideTable() throws Exception {
+        StringBuilder create = new StringBuilder("CREATE TABLE wide (id INTEGER PRIMARY KEY NOT NULL");
+        StringBuilder select = new StringBuilder("SELECT i");
+        for (int k = 1; k < COLUMNS; k++) {
+            switch (k % 5) {
+                case 1:
+                    create.append(", c").append(k).append(" INTEGER");
+                    select.append(", i * ").append(k);
+                    break;
+                case 2:
+                    create.append(", c").append(k).append(" REAL");
+                    select.append(", i * 1.5 + ").append(k);
+                    break;
+                case 3:
+                    create.append(", c").append(k).append(" TEXT");
+                    select.append(", 'value ' || i || ' ").append(k).append("'");
+                    break;
+                case 4:
+                    create.append(", c").append(k).append(" BLOB");
+                    select.append(", CAST('blob ' || i AS BLOB)");
+                    break;
+                default:
+                    create.append(", c").append(k).append(" TEXT");
+                    select.append(", NULL");
+                    break;
+            }
+        }
+        create.append(", c").append(COLUMNS).append(");");
+        select.append(", CASE WHEN i % 2 = 1 THEN i ELSE 'even ' || i END");
+        String insert =
+            "WITH RECURSIVE seq(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < " +
+            ROWS +
+            ") INSERT INTO wide " +
+            select.toString() +
+            " FROM seq;";
+        db.execute(new String[] { create.toString(), insert });
+    }
+
+    /**
+     * The selectSQL decoding before RowDecoder, the column name
+     * and index are looked up again for each cell
+     */
+    private JSArray legacySelectSQL(String statement) throws Exception {
+        JSArray retArray = new JSArray();
+        Cursor c = null;
+        try {
+            c = (Cursor) db.getDb().query(statement, new Object[0]);
+            while (c.moveToNext()) {
+                JSObject row = new JSObject();
+                for (int i = 0; i < c.getColumnCount(); i++) {
+                    String colName = c.getColumnName(i);
+                    int type = c.getType(i);
+                    switch (type) {
+                        case FIELD_TYPE_STRING:
+                            row.put(colName, c.getString(c.getColumnIndex(colName)));
+                            break;
+                        case FIELD_TYPE_INTEGER:
+                            row.put(colName, c.getLong(c.getColumnIndex(colName)));
+                            break;
+                        case FIELD_TYPE_FLOAT:
+                            row.put(colName, c.getDouble(c.getColumnIndex(colName)));
+                            break;
+                        case FIELD_TYPE_BLOB:
+                            row.put(colName, c.getBlob(c.getColumnIndex(colName)));
+                            break;
+                        case FIELD_TYPE_NULL:
+                            row.put(colName, JSONObject.NULL);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                retArray.put(row);
+            }
+            return retArray;
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    private void assertSameValue(String name, Object expected, Object actual) {
+        assertEquals(name, expected.getClass(), actual.getClass());
+        if (expected instanceof byte[]) {
+            assertArrayEquals(name, (byte[]) expected, (byte[]) actual);
+        } else {
+            assertEquals(name, expected, actual);
+        }
+    }
+}
@@ -2,24 +2,45 @@ package com.getcapacitor.community.database.sqlite;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Base64;
 import androidx.security.crypto.EncryptedSharedPreferences;
 import androidx.security.crypto.MasterKey;
 import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.SQLite.BusyRetry;
 import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import com.getcapacitor.community.database.sqlite.SQLite.GroupCommit;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ExportToJsonStream;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ImportFromJsonStream;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.JsonSQLite;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.UtilsJson;
+import com.getcapacitor.community.database.sqlite.SQLite.QueryCache;
+import com.getcapacitor.community.database.sqlite.SQLite.ReaderPool;
+import com.getcapacitor.community.database.sqlite.SQLite.RequestRegistry;
+import com.getcapacitor.community.database.sqlite.SQLite.SerialExecutor;
 import com.getcapacitor.community.database.sqlite.SQLite.UtilsFile;
 import com.getcapacitor.community.database.sqlite.SQLite.UtilsSQLite;
 import com.getcapacitor.community.database.sqlite.SQLite.UtilsSecret;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -27,10 +48,14 @@ public class CapacitorSQLite {
 
     private static final String TAG = CapacitorSQLite.class.getName();
     private Context context;
-    private Dictionary<String, Database> dbDict = new Hashtable<>();
+    private ConcurrentHashMap<String, Database> dbDict = new ConcurrentHashMap<>();
     private UtilsSQLite uSqlite = new UtilsSQLite();
     private UtilsFile uFile = new UtilsFile();
     private UtilsJson uJson = new UtilsJson();
+    private QueryCache queryCache = new QueryCache();
+    private RequestRegistry requests = new RequestRegistry();
+    // bulk jobs without connection, off the plugin thread
+    private SerialExecutor bulkExecutor = new SerialExecutor();
     private UtilsSecret uSecret;
     private SharedPreferences sharedPreferences;
 
@@ -115,10 +140,25 @@ public class CapacitorSQLite {
      * @param mode
      * @param version
      * @param vUpgObject
+     * @param wal
+     * @param readers
+     * @param maintenance the idle maintenance options, null to disable
+     * @param busyTimeout the PRAGMA busy_timeout in ms
+     * @param busyRetries the retries of a write failing with a lock error
      * @throws Exception
      */
-    public void createConnection(String dbName, boolean encrypted, String mode, int version, Dictionary<Integer, JSONObject> vUpgObject)
-        throws Exception {
+    public void createConnection(
+        String dbName,
+        boolean encrypted,
+        String mode,
+        int version,
+        Dictionary<Integer, JSONObject> vUpgObject,
+        boolean wal,
+        int readers,
+        JSObject maintenance,
+        long busyTimeout,
+        int busyRetries
+    ) throws Exception {
         // check if connection already exists
         Database conn = dbDict.get(dbName);
         if (conn != null) {
@@ -128,7 +168,13 @@ public class CapacitorSQLite {
         try {
             Database db = new Database(context, dbName, encrypted, mode, version, vUpgObject, sharedPreferences);
             if (db != null) {
-                dbDict.put(dbName, db);
+                db.setWalMode(wal, readers);
+                db.getMaintenance().configure(maintenance);
+                db.getBusyRetry().configure(busyTimeout, busyRetries);
+                if (dbDict.putIfAbsent(dbName, db) != null) {
+                    String msg = "Connection " + dbName + " already exists";
+                    throw new Exception(msg);
+                }
                 return;
             } else {
                 String msg = "db is null";
@@ -148,6 +194,7 @@ public class CapacitorSQLite {
         Database db = dbDict.get(dbName);
         if (db != null) {
             try {
+                queryCache.invalidate(dbName);
                 db.open();
                 return;
             } catch (Exception e) {
@@ -167,9 +214,14 @@ public class CapacitorSQLite {
     public void close(String dbName) throws Exception {
         Database db = dbDict.get(dbName);
         if (db != null) {
+            if (db.getExecutor().isYielding()) {
+                String msg = "database " + dbName + " failed to close while a bulk job runs on it";
+                throw new Exception(msg);
+            }
             if (db.isOpen()) {
-                if (!db.inTransaction()) {
+                if (!db.inTransaction() && !db.isTransactionOpen()) {
                     try {
+                        queryCache.invalidate(dbName);
                         db.close();
                         return;
                     } catch (Exception e) {
@@ -225,7 +277,7 @@ public class CapacitorSQLite {
                     throw new Exception(e.getMessage());
                 }
             }
-            dbDict.remove(dbName);
+            dbDict.remove(dbName, db);
             return;
         } else {
             String msg = "No available connection for database " + dbName;
@@ -248,11 +300,15 @@ public class CapacitorSQLite {
                 return false;
             }
             if (keys.size() > conns.size()) {
+                // the connections unknown to JS are closed as closeConnection does,
+                // a plain remove would leak their handles and threads
+                ArrayList<String> stale = new ArrayList<>();
                 for (String key : keys) {
                     if (!conns.contains(key)) {
-                        dbDict.remove(key);
+                        stale.add(key);
                     }
                 }
+                closeConnections(stale);
             }
             keys = new HashSet<String>(Collections.list(dbDict.keys()));
             if (keys.size() == conns.size()) {
@@ -339,8 +395,12 @@ public class CapacitorSQLite {
                 try {
                     JSObject res = db.execute(sqlCmdArray, transaction);
                     return res;
+                } catch (BusyRetry.BusyException e) {
+                    throw e;
                 } catch (Exception e) {
                     throw new Exception(e.getMessage());
+                } finally {
+                    queryCache.invalidateStatements(dbName, Arrays.asList(sqlCmdArray));
                 }
             } else {
                 String msg = "database " + dbName + " not opened";
@@ -352,6 +412,43 @@ public class CapacitorSQLite {
         }
     }
 
+    /**
+     * BeginTransaction
+     * @param dbName
+     * @param mode "exclusive" or "immediate"
+     * @param timeout idle time in ms before an abandoned transaction is rolled back
+     * @throws Exception
+     */
+    public void beginTransaction(String dbName, String mode, long timeout) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        db.beginTransaction(mode, timeout);
+    }
+
+    /**
+     * CommitTransaction
+     * @param dbName
+     * @throws Exception
+     */
+    public void commitTransaction(String dbName) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            db.commitTransaction();
+        } finally {
+            // reads cached during the transaction missed its writes
+            queryCache.invalidate(dbName);
+        }
+    }
+
+    /**
+     * RollbackTransaction
+     * @param dbName
+     * @throws Exception
+     */
+    public void rollbackTransaction(String dbName) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        db.rollbackTransaction();
+    }
+
     /**
      * ExecuteSet
      * @param dbName
@@ -366,8 +463,15 @@ public class CapacitorSQLite {
                 try {
                     JSObject res = db.executeSet(set, transaction);
                     return res;
+                } catch (BusyRetry.BusyException e) {
+                    throw e;
                 } catch (Exception e) {
                     throw new Exception(e.getMessage());
+                } finally {
+                    for (int i = 0; i < set.length(); i++) {
+                        JSONObject row = set.optJSONObject(i);
+                        queryCache.invalidateStatement(dbName, row != null ? row.optString("statement", null) : null);
+                    }
                 }
             } else {
                 String msg = "database " + dbName + " not opened";
@@ -397,17 +501,25 @@ public class CapacitorSQLite {
                         ArrayList<Object> arrValues = uSqlite.objectJSArrayToArrayList(values);
                         res = db.runSQL(statement, arrValues, transaction);
                         return res;
+                    } catch (BusyRetry.BusyException e) {
+                        throw e;
                     } catch (JSONException e) {
                         throw new Exception(e.getMessage());
                     } catch (Exception e) {
                         throw new Exception(e.getMessage());
+                    } finally {
+                        queryCache.invalidateStatement(dbName, statement);
                     }
                 } else {
                     try {
                         res = db.runSQL(statement, null, transaction);
                         return res;
+                    } catch (BusyRetry.BusyException e) {
+                        throw e;
                     } catch (Exception e) {
                         throw new Exception(e.getMessage());
+                    } finally {
+                        queryCache.invalidateStatement(dbName, statement);
                     }
                 }
             } else {
@@ -425,14 +537,29 @@ public class CapacitorSQLite {
      * @param dbName
      * @param statement
      * @param values
+     * @param cache use the query result cache
      * @return
      * @throws Exception
      */
-    public JSArray query(String dbName, String statement, JSArray values) throws Exception {
+    public JSArray query(String dbName, String statement, JSArray values, Boolean cache) throws Exception {
         JSArray res;
         Database db = dbDict.get(dbName);
         if (db != null) {
             if (db.isOpen()) {
+                // uncommitted data is never cached
+                if (cache && !db.inTransaction()) {
+                    res = queryCache.get(dbName, statement, values);
+                    if (res != null) return res;
+                    long generation = queryCache.getGeneration();
+                    long[] size = new long[1];
+                    try {
+                        res = db.selectSQL(statement, uSqlite.objectJSArrayToArrayList(values), size);
+                    } catch (Exception e) {
+                        throw new Exception(e.getMessage());
+                    }
+                    queryCache.put(db, dbName, statement, values, res, size[0], generation);
+                    return res;
+                }
                 if (values.length() > 0) {
                     try {
                         ArrayList<Object> arrValues = uSqlite.objectJSArrayToArrayList(values);
@@ -461,6 +588,286 @@ public class CapacitorSQLite {
         }
     }
 
+    /**
+     * QueryColumnar
+     * @param dbName
+     * @param statement
+     * @param values
+     * @param cache use the query result cache
+     * @return
+     * @throws Exception
+     */
+    public JSObject queryColumnar(String dbName, String statement, JSArray values, Boolean cache) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db != null) {
+            if (db.isOpen()) {
+                // uncommitted data is never cached
+                if (cache && !db.inTransaction()) {
+                    JSObject res = queryCache.getColumnar(dbName, statement, values);
+                    if (res != null) return res;
+                    long generation = queryCache.getGeneration();
+                    long[] size = new long[1];
+                    try {
+                        res = db.selectSQLColumnar(statement, uSqlite.objectJSArrayToArrayList(values), size);
+                    } catch (Exception e) {
+                        throw new Exception(e.getMessage());
+                    }
+                    queryCache.putColumnar(db, dbName, statement, values, res, size[0], generation);
+                    return res;
+                }
+                try {
+                    ArrayList<Object> arrValues = uSqlite.objectJSArrayToArrayList(values);
+                    JSObject res = db.selectSQLColumnar(statement, arrValues);
+                    return res;
+                } catch (JSONException e) {
+                    throw new Exception(e.getMessage());
+                } catch (Exception e) {
+                    throw new Exception(e.getMessage());
+                }
+            } else {
+                String msg = "database " + dbName + " not opened";
+                throw new Exception(msg);
+            }
+        } else {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+    }
+
+    /**
+     * OpenCursor
+     * @param dbName
+     * @param statement
+     * @param values
+     * @return
+     * @throws Exception
+     */
+    public Integer openCursor(String dbName, String statement, JSArray values) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            ArrayList<Object> arrValues = uSqlite.objectJSArrayToArrayList(values);
+            return db.openCursor(statement, arrValues);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+    }
+
+    /**
+     * FetchCursor
+     * @param dbName
+     * @param handle
+     * @param count
+     * @return
+     * @throws Exception
+     */
+    public JSObject fetchCursor(String dbName, Integer handle, Integer count) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            return db.fetchCursor(handle, count);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+    }
+
+    /**
+     * CloseCursor
+     * @param dbName
+     * @param handle
+     * @return
+     * @throws Exception
+     */
+    public Boolean closeCursor(String dbName, Integer handle) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        return db.closeCursor(handle);
+    }
+
+    /**
+     * ReadBlob
+     * @param dbName
+     * @param table
+     * @param column
+     * @param rowId
+     * @param offset
+     * @param length
+     * @return
+     * @throws Exception
+     */
+    public JSObject readBlob(String dbName, String table, String column, long rowId, long offset, int length) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            return db.readBlob(table, column, rowId, offset, length);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+    }
+
+    /**
+     * WriteBlob
+     * @param dbName
+     * @param table
+     * @param column
+     * @param rowId
+     * @param offset
+     * @param data base64 encoded chunk
+     * @return
+     * @throws Exception
+     */
+    public JSObject writeBlob(String dbName, String table, String column, long rowId, long offset, String data) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            byte[] bytes = Base64.decode(data, Base64.DEFAULT);
+            int changes = db.writeBlob(table, column, rowId, offset, bytes);
+            JSObject res = new JSObject();
+            res.put("changes", changes);
+            return res;
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        } finally {
+            queryCache.invalidateStatement(dbName, "UPDATE " + uSqlite.quoteIdentifier(table));
+        }
+    }
+
+    /**
+     * GetStats
+     * @param dbName
+     * @return
+     * @throws Exception
+     */
+    public JSObject getStats(String dbName) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        JSObject res = new JSObject();
+        res.put("statementCache", db.getStatementCacheStats());
+        res.put("queryCache", queryCache.getStats());
+        res.put("groupCommit", db.getGroupCommit().getStats());
+        res.put("scheduler", db.getExecutor().getStats());
+        res.put("maintenance", db.getMaintenance().getStats());
+        res.put("busy", db.getBusyRetry().getStats());
+        return res;
+    }
+
+    /**
+     * SetGroupCommit
+     * @param dbName
+     * @param window in ms a run call waits for others, 0 disables group commit
+     * @param maxBatch
+     * @throws Exception
+     */
+    public void setGroupCommit(String dbName, long window, int maxBatch) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        db.getGroupCommit().configure(window, maxBatch);
+    }
+
+    /**
+     * IsGroupCommit
+     * @param dbName
+     * @return true if the run calls of the connection are grouped
+     */
+    public boolean isGroupCommit(String dbName) {
+        Database db = dbDict.get(dbName);
+        return db != null && db.getGroupCommit().isEnabled() && !db.isTransactionOpen();
+    }
+
+    /**
+     * RunGrouped
+     * Run a statement in the next group commit of the connection
+     * @param dbName
+     * @param statement
+     * @param values
+     * @param callback called once the group is committed
+     * @throws Exception
+     */
+    public void runGrouped(final String dbName, final String statement, JSArray values, final GroupCommit.Callback callback)
+        throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        ArrayList<Object> arrValues = values.length() > 0 ? uSqlite.objectJSArrayToArrayList(values) : null;
+        db
+            .getGroupCommit()
+            .submit(
+                statement,
+                arrValues,
+                new GroupCommit.Callback() {
+                    @Override
+                    public void onResult(JSObject result, String error) {
+                        queryCache.invalidateStatement(dbName, statement);
+                        callback.onResult(result, error);
+                    }
+                }
+            );
+    }
+
+    /**
+     * SetSlowQueryLog
+     * @param dbName
+     * @param threshold in ms, a negative value disables the log
+     * @param capacity
+     * @param notify
+     * @throws Exception
+     */
+    public void setSlowQueryLog(String dbName, long threshold, int capacity, boolean notify) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        db.getSlowQueryLog().configure(threshold, capacity, notify);
+    }
+
+    /**
+     * GetSlowQueries
+     * @param dbName
+     * @param clear
+     * @return
+     * @throws Exception
+     */
+    public JSArray getSlowQueries(String dbName, boolean clear) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        return db.getSlowQueryLog().getEntries(clear);
+    }
+
+    /**
+     * WatchQuery
+     * @param dbName
+     * @param statement
+     * @param values
+     * @param key
+     * @param debounce
+     * @return
+     * @throws Exception
+     */
+    public JSObject watchQuery(String dbName, String statement, JSArray values, String key, long debounce) throws Exception {
+        Database db = getOpenedDatabase(dbName);
+        try {
+            ArrayList<Object> arrValues = uSqlite.objectJSArrayToArrayList(values);
+            return db.watchQuery(statement, arrValues, key, debounce);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+    }
+
+    /**
+     * UnwatchQuery
+     * @param dbName
+     * @param watchId
+     * @return
+     * @throws Exception
+     */
+    public Boolean unwatchQuery(String dbName, Integer watchId) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        return db.unwatchQuery(watchId);
+    }
+
     public Boolean isDBExists(String dbName) throws Exception {
         Database db = dbDict.get(dbName);
         if (db != null) {
@@ -495,6 +902,7 @@ public class CapacitorSQLite {
         Database db = dbDict.get(dbName);
         if (db != null) {
             try {
+                queryCache.invalidate(dbName);
                 db.deleteDB(dbName);
                 return;
             } catch (Exception e) {
@@ -510,6 +918,7 @@ public class CapacitorSQLite {
         Database db = dbDict.get(dbName);
         if (db != null) {
             try {
+                queryCache.invalidate(dbName);
                 JSObject res = db.createSyncTable();
                 return res;
             } catch (Exception e) {
@@ -525,6 +934,7 @@ public class CapacitorSQLite {
         Database db = dbDict.get(dbName);
         if (db != null) {
             try {
+                queryCache.invalidateTable(dbName, "sync_table");
                 db.setSyncDate(syncDate);
                 return;
             } catch (Exception e) {
@@ -588,42 +998,246 @@ public class CapacitorSQLite {
         }
     }
 
-    public JSObject importFromJson(String parsingData) throws Exception {
+    public JSObject importFromJson(String parsingData, boolean bulkLoad) throws Exception {
+        ImportFromJsonStream stream = new ImportFromJsonStream(new StringReader(parsingData));
+        stream.setBulkLoad(bulkLoad);
         try {
-            JSObject jsonObject = new JSObject(parsingData);
-            JsonSQLite jsonSQL = new JsonSQLite();
-            Boolean isValid = jsonSQL.isJsonSQLite(jsonObject);
-            if (!isValid) {
-                String msg = "Stringify Json Object not Valid";
-                throw new Exception(msg);
-            }
-            String dbName = jsonSQL.getDatabase();
-            int dbVersion = jsonSQL.getVersion();
-            //            jsonSQL.print();
-            Boolean encrypted = jsonSQL.getEncrypted();
-            String inMode = "no-encryption";
-            if (encrypted) {
-                inMode = "secret";
-            }
-            Database db = new Database(context, dbName, encrypted, inMode, dbVersion, new Hashtable<>(), sharedPreferences);
-            db.open();
-            if (!db.isOpen()) {
-                String msg = dbName + " not opened";
-                throw new Exception(msg);
+            // the rows are written while parsed when the header precedes the tables
+            if (stream.readHeader() && stream.getHeader().getDatabase().length() > 0) {
+                return importFromJsonStream(stream);
             } else {
-                JSObject res = db.importFromJson(jsonSQL);
-                db.close();
-                if (res.getInteger("changes") == Integer.valueOf(-1)) {
-                    String msg = "importFromJson: import JsonObject not successful";
-                    throw new Exception(msg);
-                } else {
-                    return res;
-                }
+                return importFromJsonObject(parsingData, bulkLoad);
             }
         } catch (Exception e) {
             String msg = "importFromJson : " + e.getMessage();
             throw new Exception(msg);
+        } finally {
+            stream.close();
+        }
+    }
+
+    public JSObject importFromJsonFile(String dbName, String path, boolean bulkLoad) throws Exception {
+        ImportFromJsonStream stream = null;
+        try {
+            File file = uFile.getSandboxFile(context, path);
+            if (!file.exists()) {
+                throw new Exception("file " + path + " does not exist");
+            }
+            stream = new ImportFromJsonStream(new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8")));
+            stream.setBulkLoad(bulkLoad);
+            if (!stream.readHeader()) {
+                // the header follows the tables, the file is parsed at once
+                stream.close();
+                stream = null;
+                JSObject jsonObject = new JSObject(readFile(file));
+                if (!jsonObject.has("database") && dbName != null) {
+                    jsonObject.put("database", dbName);
+                } else if (dbName != null && !dbName.equals(jsonObject.getString("database"))) {
+                    throw new Exception(
+                        "database " + dbName + " does not match the Json Object database " + jsonObject.getString("database")
+                    );
+                }
+                return importFromJsonObject(jsonObject, bulkLoad);
+            }
+            JsonSQLite jsonSQL = stream.getHeader();
+            if (jsonSQL.getDatabase().length() == 0) {
+                if (dbName == null) throw new Exception("no database name");
+                jsonSQL.setDatabase(dbName);
+            } else if (dbName != null && !dbName.equals(jsonSQL.getDatabase())) {
+                throw new Exception("database " + dbName + " does not match the Json Object database " + jsonSQL.getDatabase());
+            }
+            return importFromJsonStream(stream);
+        } catch (Exception e) {
+            String msg = "importFromJsonFile : " + e.getMessage();
+            throw new Exception(msg);
+        } finally {
+            if (stream != null) stream.close();
+        }
+    }
+
+    private JSObject importFromJsonStream(final ImportFromJsonStream stream) throws Exception {
+        final JsonSQLite jsonSQL = stream.getHeader();
+        return runOnBulkLane(
+            jsonSQL.getDatabase(),
+            new Callable<JSObject>() {
+                @Override
+                public JSObject call() throws Exception {
+                    Database db = getImportDatabase(jsonSQL);
+                    try {
+                        JSObject res = db.importFromJson(stream);
+                        if (res.getInteger("changes") == Integer.valueOf(-1)) {
+                            String msg = "importFromJson: import JsonObject not successful";
+                            throw new Exception(msg);
+                        }
+                        return res;
+                    } finally {
+                        releaseImportDatabase(jsonSQL.getDatabase(), db);
+                    }
+                }
+            }
+        );
+    }
+
+    private JSObject importFromJsonObject(String parsingData, boolean bulkLoad) throws Exception {
+        return importFromJsonObject(new JSObject(parsingData), bulkLoad);
+    }
+
+    private JSObject importFromJsonObject(JSObject jsonObject, final boolean bulkLoad) throws Exception {
+        final JsonSQLite jsonSQL = new JsonSQLite();
+        Boolean isValid = jsonSQL.isJsonSQLite(jsonObject);
+        if (!isValid) {
+            String msg = "Stringify Json Object not Valid";
+            throw new Exception(msg);
+        }
+        //            jsonSQL.print();
+        return runOnBulkLane(
+            jsonSQL.getDatabase(),
+            new Callable<JSObject>() {
+                @Override
+                public JSObject call() throws Exception {
+                    Database db = getImportDatabase(jsonSQL);
+                    JSObject res;
+                    try {
+                        res = db.importFromJson(jsonSQL, bulkLoad);
+                    } finally {
+                        releaseImportDatabase(jsonSQL.getDatabase(), db);
+                    }
+                    if (res.getInteger("changes") == Integer.valueOf(-1)) {
+                        String msg = "importFromJson: import JsonObject not successful";
+                        throw new Exception(msg);
+                    } else {
+                        return res;
+                    }
+                }
+            }
+        );
+    }
+
+    private String readFile(File file) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                sb.append(buffer, 0, len);
+            }
+        } finally {
+            in.close();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * RunOnBulkLane
+     * Run a job of the shared bulk executor on the bulk lane of the
+     * connection to dbName and wait for it, the job then holds a lease
+     * and never runs concurrently with the calls on the connection
+     * Without connection the job runs on the calling thread
+     * A bulk job is not replayed, a lock error fails it with its message
+     * @param dbName
+     * @param job
+     * @return the job result
+     * @throws Exception the job exception
+     */
+    private <T> T runOnBulkLane(String dbName, Callable<T> job) throws Exception {
+        Database db = dbName != null ? dbDict.get(dbName) : null;
+        if (db == null) return job.call();
+        BulkJob<T> future = new BulkJob<>(job);
+        db.getExecutor().executeBulk(db.leased(future));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw new Exception(cause.getMessage());
+        }
+    }
+
+    /**
+     * BulkJob
+     * A job waited for by runOnBulkLane, failing with the
+     * rejection message when its connection is closing
+     */
+    private static class BulkJob<T> extends FutureTask<T> implements Database.Rejectable {
+
+        BulkJob(Callable<T> job) {
+            super(job);
+        }
+
+        @Override
+        public void reject(String message) {
+            setException(new Exception(message));
+        }
+    }
+
+    /**
+     * RunOnBulkLanes
+     * Run a job when the bulk lanes of all the connections have
+     * reached it, each lane waits for the following one
+     * @param dbNames
+     * @param job
+     * @return the job result
+     * @throws Exception the job exception
+     */
+    private <T> T runOnBulkLanes(final List<String> dbNames, final Callable<T> job) throws Exception {
+        if (dbNames.size() == 0) return job.call();
+        return runOnBulkLane(
+            dbNames.get(0),
+            new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    return runOnBulkLanes(dbNames.subList(1, dbNames.size()), job);
+                }
+            }
+        );
+    }
+
+    /**
+     * GetImportDatabase
+     * The opened connection to the database imports through its own
+     * handle, a second writer would fail on its locks, otherwise
+     * the database is opened from the Json Object header
+     * @param jsonSQL
+     * @return
+     * @throws Exception
+     */
+    private Database getImportDatabase(JsonSQLite jsonSQL) throws Exception {
+        String dbName = jsonSQL.getDatabase();
+        queryCache.invalidate(dbName);
+        Database db = dbDict.get(dbName);
+        if (db != null && db.isOpen()) {
+            if (db.inTransaction() || db.isTransactionOpen()) {
+                throw new Exception("database " + dbName + " still in transaction");
+            }
+            return db;
+        }
+        return openImportDatabase(jsonSQL);
+    }
+
+    private void releaseImportDatabase(String dbName, Database db) throws Exception {
+        // the reads cached before the import are stale
+        queryCache.invalidate(dbName);
+        if (dbDict.get(dbName) != db) {
+            db.close();
+        }
+    }
+
+    private Database openImportDatabase(JsonSQLite jsonSQL) throws Exception {
+        String dbName = jsonSQL.getDatabase();
+        int dbVersion = jsonSQL.getVersion();
+        Boolean encrypted = jsonSQL.getEncrypted();
+        String inMode = "no-encryption";
+        if (encrypted) {
+            inMode = "secret";
+        }
+        Database db = new Database(context, dbName, encrypted, inMode, dbVersion, new Hashtable<>(), sharedPreferences);
+        db.open();
+        if (!db.isOpen()) {
+            String msg = dbName + " not opened";
+            throw new Exception(msg);
         }
+        return db;
     }
 
     public JSObject exportToJson(String dbName, String expMode) throws Exception {
@@ -648,10 +1262,62 @@ public class CapacitorSQLite {
         }
     }
 
-    public void copyFromAssets(Boolean overwrite) throws Exception {
+    public JSObject exportToJsonFile(String dbName, String path, String expMode) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        File file = null;
+        File tmpFile = null;
+        try {
+            file = uFile.getSandboxFile(context, path);
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+            // a failed export leaves the previous file in place
+            tmpFile = new File(file.getPath() + ".tmp");
+            ExportToJsonStream stream = new ExportToJsonStream(
+                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), "UTF-8"))
+            );
+            JSObject ret;
+            try {
+                ret = db.exportToJson(expMode, stream);
+            } finally {
+                stream.close();
+            }
+            if (!tmpFile.renameTo(file)) {
+                throw new Exception("rename to " + file.getPath() + " failed");
+            }
+            ret.put("path", file.getAbsolutePath());
+            ret.put("database", dbName);
+            ret.put("mode", expMode);
+            return ret;
+        } catch (Exception e) {
+            if (tmpFile != null) tmpFile.delete();
+            String msg = "ExportToJsonFile " + e.getMessage();
+            throw new Exception(msg);
+        }
+    }
+
+    public void copyFromAssets(final Boolean overwrite) throws Exception {
         String msg = "copy failed : ";
         try {
-            uFile.copyFromAssetsToDatabase(context, overwrite);
+            // the copy may replace the file of any connection, it runs
+            // once no call is in flight on them
+            List<String> dbNames = Collections.list(dbDict.keys());
+            runOnBulkLanes(
+                dbNames,
+                new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        uFile.copyFromAssetsToDatabase(context, overwrite);
+                        return null;
+                    }
+                }
+            );
+            for (String dbName : dbNames) {
+                queryCache.invalidate(dbName);
+            }
             return;
         } catch (Exception e) {
             msg += e.getMessage();
@@ -662,14 +1328,202 @@ public class CapacitorSQLite {
     private void closeAllConnections() throws Exception {
         // close all connections
         try {
-            Enumeration<String> connections = dbDict.keys();
-            while (connections.hasMoreElements()) {
-                String dbName = (String) connections.nextElement();
-                closeConnection(dbName);
-            }
+            closeConnections(Collections.list(dbDict.keys()));
         } catch (Exception e) {
             String msg = "close all connections " + e.getMessage();
             throw new Exception(msg);
         }
     }
+
+    /**
+     * CloseConnections
+     * Close each connection, a failure does not stop the others
+     * @param dbNames
+     * @throws Exception listing the connections which failed to close
+     */
+    private void closeConnections(List<String> dbNames) throws Exception {
+        StringBuilder errors = new StringBuilder();
+        for (String dbName : dbNames) {
+            try {
+                closeConnection(dbName);
+            } catch (Exception e) {
+                if (errors.length() > 0) errors.append("; ");
+                errors.append(dbName).append(": ").append(e.getMessage());
+            }
+        }
+        if (errors.length() > 0) {
+            throw new Exception("failed to close " + errors.toString());
+        }
+    }
+
+    /**
+     * Dispatch
+     * Run a task on the serial executor of a connection,
+     * tasks on a given connection run in FIFO order while
+     * tasks on different connections run concurrently
+     * Without connection the task runs on the calling thread
+     * @param dbName
+     * @param task
+     */
+    public void dispatch(String dbName, Runnable task) {
+        Database db = dbName != null ? dbDict.get(dbName) : null;
+        if (db == null) {
+            task.run();
+            return;
+        }
+        db.getExecutor().execute(db.leased(task));
+    }
+
+    /**
+     * Dispatch
+     * Dispatch a task which can be cancelled by its requestId
+     * @param dbName
+     * @param requestId null if not cancellable
+     * @param task
+     */
+    public void dispatch(String dbName, String requestId, Runnable task) {
+        dispatch(dbName, withRequest(requestId, task));
+    }
+
+    /**
+     * DispatchWrite
+     * Dispatch a write which can be cancelled by its requestId,
+     * the write is queued again after a backoff while it fails
+     * with a retryable lock error
+     * Without connection the write runs on the calling thread
+     * @param dbName
+     * @param requestId null if not cancellable
+     * @param attempt
+     */
+    public void dispatchWrite(String dbName, String requestId, BusyRetry.Attempt attempt) {
+        Database db = dbName != null ? dbDict.get(dbName) : null;
+        // registered before queuing, so a waiting write can be cancelled
+        if (requestId != null) attempt = requests.wrap(requests.register(requestId), attempt);
+        if (db == null) {
+            try {
+                attempt.run();
+            } catch (Exception e) {
+                attempt.onError(e);
+            }
+            return;
+        }
+        db.getExecutor().execute(db.leased(db.attempted(attempt)));
+    }
+
+    /**
+     * DispatchLifecycle
+     * Dispatch a close or a transaction begin, which must not run
+     * while a bulk job yields, it would close the handle or open
+     * a transaction under the job, such a call is queued again
+     * on the bulk lane and runs once the job completes
+     * @param dbName
+     * @param task
+     */
+    public void dispatchLifecycle(String dbName, final Runnable task) {
+        final Database db = dbName != null ? dbDict.get(dbName) : null;
+        if (db == null) {
+            task.run();
+            return;
+        }
+        db
+            .getExecutor()
+            .execute(
+                db.leased(
+                    new Database.Rejectable() {
+                        @Override
+                        public void reject(String message) {
+                            if (task instanceof Database.Rejectable) ((Database.Rejectable) task).reject(message);
+                        }
+
+                        @Override
+                        public void run() {
+                            if (db.getExecutor().isYielding()) {
+                                db.getExecutor().executeBulk(db.leased(task));
+                                return;
+                            }
+                            task.run();
+                        }
+                    }
+                )
+            );
+    }
+
+    /**
+     * DispatchBulk
+     * Run a bulk job (import, export, copy) on the bulk lane
+     * of a connection, the interactive calls queued on the
+     * connection run first and when the job yields
+     * Without connection the job runs on a shared bulk executor
+     * @param dbName
+     * @param task
+     */
+    public void dispatchBulk(String dbName, Runnable task) {
+        Database db = dbName != null ? dbDict.get(dbName) : null;
+        if (db == null) {
+            bulkExecutor.executeBulk(task);
+            return;
+        }
+        db.getExecutor().executeBulk(db.leased(task));
+    }
+
+    /**
+     * DispatchRead
+     * Dispatch a read task which can be cancelled by its requestId
+     * @param dbName
+     * @param requestId null if not cancellable
+     * @param task
+     */
+    public void dispatchRead(String dbName, String requestId, Runnable task) {
+        dispatchRead(dbName, withRequest(requestId, task));
+    }
+
+    /**
+     * Cancel
+     * Stop the calls started with a requestId, a running call
+     * is stopped at its next row or statement and its transaction
+     * rolled back, a waiting call fails when it starts
+     * @param requestId
+     * @return false if no call runs or waits with this requestId
+     */
+    public boolean cancel(String requestId) {
+        return requests.cancel(requestId);
+    }
+
+    private Runnable withRequest(String requestId, Runnable task) {
+        if (requestId == null) return task;
+        // registered before queuing, so a waiting call can be cancelled
+        return requests.wrap(requests.register(requestId), task);
+    }
+
+    /**
+     * DispatchRead
+     * Run a read task on the reader executor of a connection
+     * in WAL mode, reads then run concurrently with the writes
+     * Otherwise, or while a transaction is opened, the task is dispatched as any other call
+     * @param dbName
+     * @param task
+     */
+    public void dispatchRead(String dbName, Runnable task) {
+        Database db = dbName != null ? dbDict.get(dbName) : null;
+        ReaderPool pool = db != null ? db.getReaderPool() : null;
+        // within a transaction the reads must see its writes
+        if (pool == null || db.isTransactionOpen()) {
+            dispatch(dbName, task);
+            return;
+        }
+        pool.getExecutor().execute(db.leased(task));
+    }
+
+    private Database getOpenedDatabase(String dbName) throws Exception {
+        Database db = dbDict.get(dbName);
+        if (db == null) {
+            String msg = "No available connection for database " + dbName;
+            throw new Exception(msg);
+        }
+        if (!db.isOpen()) {
+            String msg = "database " + dbName + " not opened";
+            throw new Exception(msg);
+        }
+        return db;
+    }
 }
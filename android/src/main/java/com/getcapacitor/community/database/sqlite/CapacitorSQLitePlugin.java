@@ -8,11 +8,14 @@ import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
+import com.getcapacitor.community.database.sqlite.SQLite.BusyRetry;
 import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import com.getcapacitor.community.database.sqlite.SQLite.GroupCommit;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.JsonSQLite;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 @CapacitorPlugin(name = "CapacitorSQLite")
@@ -81,22 +84,31 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void setEncryptionSecret(PluginCall call) {
-        String passphrase = null;
-        if (!call.getData().has("passphrase")) {
-            String msg = "SetEncryptionSecret: Must provide a passphrase";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        passphrase = call.getString("passphrase");
-        try {
-            implementation.setEncryptionSecret(passphrase);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "SetEncryptionSecret: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        // closing the connections waits for their calls in flight
+        implementation.dispatchBulk(
+            null,
+            new Runnable() {
+                @Override
+                public void run() {
+                    String passphrase = null;
+                    if (!call.getData().has("passphrase")) {
+                        String msg = "SetEncryptionSecret: Must provide a passphrase";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    passphrase = call.getString("passphrase");
+                    try {
+                        implementation.setEncryptionSecret(passphrase);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "SetEncryptionSecret: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -107,29 +119,38 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void changeEncryptionSecret(PluginCall call) {
-        String passphrase = null;
-        if (!call.getData().has("passphrase")) {
-            String msg = "SetEncryptionSecret: Must provide a passphrase";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        passphrase = call.getString("passphrase");
-        String oldpassphrase = null;
-        if (!call.getData().has("oldpassphrase")) {
-            String msg = "SetEncryptionSecret: Must provide a oldpassphrase";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        oldpassphrase = call.getString("oldpassphrase");
-        try {
-            implementation.changeEncryptionSecret(passphrase, oldpassphrase);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "ChangeEncryptionSecret: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        // closing the connections waits for their calls in flight
+        implementation.dispatchBulk(
+            null,
+            new Runnable() {
+                @Override
+                public void run() {
+                    String passphrase = null;
+                    if (!call.getData().has("passphrase")) {
+                        String msg = "SetEncryptionSecret: Must provide a passphrase";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    passphrase = call.getString("passphrase");
+                    String oldpassphrase = null;
+                    if (!call.getData().has("oldpassphrase")) {
+                        String msg = "SetEncryptionSecret: Must provide a oldpassphrase";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    oldpassphrase = call.getString("oldpassphrase");
+                    try {
+                        implementation.changeEncryptionSecret(passphrase, oldpassphrase);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "ChangeEncryptionSecret: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -168,9 +189,30 @@ public class CapacitorSQLitePlugin extends Plugin {
             inMode = "no-encryption";
             secret = "";
         }
+        boolean wal = call.getBoolean("wal", false);
+        int readers = call.getInt("readers", 2);
+        if (readers < 1) {
+            String msg = "CreateConnection: readers must be > 0";
+            rHandler.retResult(call, null, msg);
+            return;
+        }
+        JSObject maintenance = call.getData().has("maintenance") ? call.getObject("maintenance") : null;
+        long busyTimeout = call.getData().optLong("busyTimeout", 2000);
+        int busyRetries = call.getInt("busyRetries", 3);
         Dictionary<Integer, JSONObject> upgDict = versionUpgrades.get(dbName);
         try {
-            implementation.createConnection(dbName, encrypted, inMode, dbVersion, upgDict);
+            implementation.createConnection(
+                dbName,
+                encrypted,
+                inMode,
+                dbVersion,
+                upgDict,
+                wal,
+                readers,
+                maintenance,
+                busyTimeout,
+                busyRetries
+            );
             rHandler.retResult(call, null, null);
             return;
         } catch (Exception e) {
@@ -187,21 +229,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void open(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "Open: Must provide a database name";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            implementation.open(dbName);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Open: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "Open: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.open(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "Open: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -211,21 +261,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void close(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "Close: Must provide a database name";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            implementation.close(dbName);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Close: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        implementation.dispatchLifecycle(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "Close: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.close(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "Close: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -235,21 +293,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void getVersion(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "GetVersion: Must provide a database name";
-            rHandler.retVersion(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            Integer res = implementation.getVersion(dbName);
-            rHandler.retVersion(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Open: " + e.getMessage();
-            rHandler.retVersion(call, null, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "GetVersion: Must provide a database name";
+                        rHandler.retVersion(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        Integer res = implementation.getVersion(dbName);
+                        rHandler.retVersion(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "Open: " + e.getMessage();
+                        rHandler.retVersion(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -259,21 +325,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void closeConnection(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "CloseConnection: Must provide a database name";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            implementation.closeConnection(dbName);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "CloseConnection: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        implementation.dispatchLifecycle(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "CloseConnection: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.closeConnection(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CloseConnection: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -283,21 +357,30 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void checkConnectionsConsistency(PluginCall call) {
-        if (!call.getData().has("dbNames")) {
-            String msg = "CheckConnectionsConsistency: Must provide a " + "connection Array";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        JSArray dbNames = call.getArray("dbNames");
-        try {
-            Boolean res = implementation.checkConnectionsConsistency(dbNames);
-            rHandler.retResult(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "CheckConnectionsConsistency: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        // closing the connections waits for their calls in flight
+        implementation.dispatchBulk(
+            null,
+            new Runnable() {
+                @Override
+                public void run() {
+                    if (!call.getData().has("dbNames")) {
+                        String msg = "CheckConnectionsConsistency: Must provide a " + "connection Array";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    JSArray dbNames = call.getArray("dbNames");
+                    try {
+                        Boolean res = implementation.checkConnectionsConsistency(dbNames);
+                        rHandler.retResult(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CheckConnectionsConsistency: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -330,25 +413,33 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void isTableExists(PluginCall call) {
-        if (!call.getData().has("database")) {
-            rHandler.retResult(call, null, "Must provide a database name");
-            return;
-        }
-        String dbName = call.getString("database");
-        if (!call.getData().has("table")) {
-            rHandler.retResult(call, null, "Must provide a table name");
-            return;
-        }
-        String tableName = call.getString("table");
-        try {
-            Boolean res = implementation.isTableExists(dbName, tableName);
-            rHandler.retResult(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "isTableExists: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        rHandler.retResult(call, null, "Must provide a database name");
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("table")) {
+                        rHandler.retResult(call, null, "Must provide a table name");
+                        return;
+                    }
+                    String tableName = call.getString("table");
+                    try {
+                        Boolean res = implementation.isTableExists(dbName, tableName);
+                        rHandler.retResult(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "isTableExists: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -375,31 +466,144 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void execute(PluginCall call) {
-        JSObject retRes = new JSObject();
-        retRes.put("changes", Integer.valueOf(-1));
-        if (!call.getData().has("database")) {
-            String msg = "Execute: Must provide a database name";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        if (!call.getData().has("statements")) {
-            String msg = "Execute: Must provide raw SQL statements";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String statements = call.getString("statements");
-        Boolean transaction = call.getBoolean("transaction", true);
+        implementation.dispatchWrite(
+            call.getString("database"),
+            call.getString("requestId"),
+            new BusyRetry.Attempt() {
+                @Override
+                public void run() throws Exception {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("database")) {
+                        String msg = "Execute: Must provide a database name";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("statements")) {
+                        String msg = "Execute: Must provide raw SQL statements";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String statements = call.getString("statements");
+                    Boolean transaction = call.getBoolean("transaction", true);
 
-        try {
-            JSObject res = implementation.execute(dbName, statements, transaction);
-            rHandler.retChanges(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Execute: " + e.getMessage();
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
+                    JSObject res = implementation.execute(dbName, statements, transaction);
+                    rHandler.retChanges(call, res, null);
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    String msg = "Execute: " + e.getMessage();
+                    rHandler.retChanges(call, retRes, msg);
+                }
+            }
+        );
+    }
+
+    /**
+     * BeginTransaction Method
+     * Open a transaction joined by the next calls on the connection
+     * @param call
+     */
+    @PluginMethod
+    public void beginTransaction(PluginCall call) {
+        implementation.dispatchLifecycle(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "BeginTransaction: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    String mode = call.getString("mode", "immediate");
+                    if (!mode.equals("immediate") && !mode.equals("exclusive")) {
+                        String msg = "BeginTransaction: mode must be in ['immediate','exclusive']";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    long timeout = call.getData().optLong("timeout", 30000);
+                    try {
+                        implementation.beginTransaction(dbName, mode, timeout);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "BeginTransaction: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * CommitTransaction Method
+     * Commit the transaction opened by beginTransaction
+     * @param call
+     */
+    @PluginMethod
+    public void commitTransaction(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "CommitTransaction: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.commitTransaction(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CommitTransaction: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * RollbackTransaction Method
+     * Roll back the transaction opened by beginTransaction
+     * @param call
+     */
+    @PluginMethod
+    public void rollbackTransaction(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "RollbackTransaction: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.rollbackTransaction(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "RollbackTransaction: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -410,124 +614,654 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void executeSet(PluginCall call) throws Exception {
-        JSObject retRes = new JSObject();
-        retRes.put("changes", Integer.valueOf(-1));
+        implementation.dispatchWrite(
+            call.getString("database"),
+            call.getString("requestId"),
+            new BusyRetry.Attempt() {
+                @Override
+                public void run() throws Exception {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("database")) {
+                        String msg = "ExecuteSet: Must provide a database name";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("set")) {
+                        String msg = "ExecuteSet: Must provide a set of SQL statements";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    JSArray set = call.getArray("set");
+                    if (set.length() == 0) {
+                        String msg = "ExecuteSet: Must provide a non-empty set of SQL statements";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    try {
+                        for (int i = 0; i < set.length(); i++) {
+                            JSONArray keys = set.getJSONObject(i).names();
+                            for (int j = 0; j < keys.length(); ++j) {
+                                String key = keys.getString(j);
+                                if (!(key.equals("statement")) && !(key.equals("values"))) {
+                                    String msg = "ExecuteSet: Must provide a set as Array of {statement,";
+                                    msg += "values}";
+                                    rHandler.retChanges(call, retRes, msg);
+                                    return;
+                                }
+                            }
+                        }
+                    } catch (JSONException e) {
+                        String msg = "ExecuteSet: " + e.getMessage();
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    Boolean transaction = call.getBoolean("transaction", true);
+                    JSObject res = implementation.executeSet(dbName, set, transaction);
+                    rHandler.retChanges(call, res, null);
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    String msg = "ExecuteSet: " + e.getMessage();
+                    rHandler.retChanges(call, retRes, msg);
+                }
+            }
+        );
+    }
+
+    /**
+     * Run method
+     * Execute a raw sql statement
+     * @param call
+     */
+    @PluginMethod
+    public void run(PluginCall call) {
+        implementation.dispatchWrite(
+            call.getString("database"),
+            null,
+            new BusyRetry.Attempt() {
+                @Override
+                public void run() throws Exception {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("database")) {
+                        String msg = "Run: Must provide a database name";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("statement")) {
+                        String msg = "Run: Must provide a SQL statement";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String statement = call.getString("statement");
+                    if (!call.getData().has("values")) {
+                        String msg = "Run: Must provide an Array of values";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    JSArray values = call.getArray("values");
+
+                    Boolean transaction = call.getBoolean("transaction", true);
+
+                    if (transaction && implementation.isGroupCommit(dbName)) {
+                        try {
+                            implementation.runGrouped(
+                                dbName,
+                                statement,
+                                values,
+                                new GroupCommit.Callback() {
+                                    @Override
+                                    public void onResult(JSObject res, String error) {
+                                        if (error != null) {
+                                            rHandler.retChanges(call, retRes, "Run: " + error);
+                                        } else {
+                                            rHandler.retChanges(call, res, null);
+                                        }
+                                    }
+                                }
+                            );
+                        } catch (Exception e) {
+                            String msg = "Run: " + e.getMessage();
+                            rHandler.retChanges(call, retRes, msg);
+                        }
+                        return;
+                    }
+                    JSObject res = implementation.run(dbName, statement, values, transaction);
+                    rHandler.retChanges(call, res, null);
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    String msg = "Run: " + e.getMessage();
+                    rHandler.retChanges(call, retRes, msg);
+                }
+            }
+        );
+    }
+
+    /**
+     * SetGroupCommit Method
+     * Group the run calls of a connection into shared transactions
+     * @param call
+     */
+    @PluginMethod
+    public void setGroupCommit(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "SetGroupCommit: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    long window = call.getData().optLong("window", 0);
+                    int maxBatch = call.getInt("maxBatch", 50);
+                    try {
+                        implementation.setGroupCommit(dbName, window, maxBatch);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "SetGroupCommit: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Query Method
+     * Execute an sql query
+     * @param call
+     */
+    @PluginMethod
+    public void query(PluginCall call) {
+        implementation.dispatchRead(
+            call.getString("database"),
+            call.getString("requestId"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "Run: Must provide a database name";
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("statement")) {
+                        String msg = "Query: Must provide a SQL statement";
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                    String statement = call.getString("statement");
+                    if (!call.getData().has("values")) {
+                        String msg = "Query: Must provide an Array of Strings";
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                    JSArray values = call.getArray("values");
+                    Boolean columnar = call.getBoolean("columnar", false);
+                    Boolean cache = call.getBoolean("cache", false);
+                    try {
+                        if (columnar) {
+                            JSObject res = implementation.queryColumnar(dbName, statement, values, cache);
+                            rHandler.retValues(call, res, null);
+                            return;
+                        }
+                        JSArray res = implementation.query(dbName, statement, values, cache);
+                        rHandler.retValues(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "Query: " + e.getMessage();
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * OpenCursor Method
+     * Open a cursor on a query for paged fetches
+     * @param call
+     */
+    @PluginMethod
+    public void openCursor(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "OpenCursor: Must provide a database name";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("statement")) {
+                        String msg = "OpenCursor: Must provide a SQL statement";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String statement = call.getString("statement");
+                    JSArray values = call.getArray("values", new JSArray());
+                    try {
+                        Integer handle = implementation.openCursor(dbName, statement, values);
+                        JSObject ret = new JSObject();
+                        ret.put("handle", handle);
+                        rHandler.retObject(call, ret, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "OpenCursor: " + e.getMessage();
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Fetch Method
+     * Fetch the next rows of an opened cursor
+     * @param call
+     */
+    @PluginMethod
+    public void fetch(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "Fetch: Must provide a database name";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("handle")) {
+                        String msg = "Fetch: Must provide a cursor handle";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    Integer handle = call.getInt("handle");
+                    Integer count = call.getInt("count", 100);
+                    if (count <= 0) {
+                        String msg = "Fetch: count must be greater than 0";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    try {
+                        JSObject res = implementation.fetchCursor(dbName, handle, count);
+                        rHandler.retObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "Fetch: " + e.getMessage();
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * CloseCursor Method
+     * Close an opened cursor
+     * @param call
+     */
+    @PluginMethod
+    public void closeCursor(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "CloseCursor: Must provide a database name";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("handle")) {
+                        String msg = "CloseCursor: Must provide a cursor handle";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    Integer handle = call.getInt("handle");
+                    try {
+                        Boolean res = implementation.closeCursor(dbName, handle);
+                        rHandler.retResult(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CloseCursor: " + e.getMessage();
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * ReadBlob Method
+     * Read a chunk of a BLOB cell
+     * @param call
+     */
+    @PluginMethod
+    public void readBlob(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    String msg = checkBlobOptions(call, "ReadBlob");
+                    if (msg != null) {
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    String table = call.getString("table");
+                    String column = call.getString("column");
+                    long rowId = call.getData().optLong("rowid", -1);
+                    long offset = call.getData().optLong("offset", 0);
+                    Integer length = call.getInt("length", 524288);
+                    if (offset < 0 || length <= 0) {
+                        msg = "ReadBlob: offset must be positive and length greater than 0";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    try {
+                        JSObject res = implementation.readBlob(dbName, table, column, rowId, offset, length);
+                        rHandler.retObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        msg = "ReadBlob: " + e.getMessage();
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * WriteBlob Method
+     * Write a chunk into a BLOB cell
+     * @param call
+     */
+    @PluginMethod
+    public void writeBlob(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    String msg = checkBlobOptions(call, "WriteBlob");
+                    if (msg != null) {
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    if (!call.getData().has("data")) {
+                        msg = "WriteBlob: Must provide a base64 data chunk";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    String table = call.getString("table");
+                    String column = call.getString("column");
+                    long rowId = call.getData().optLong("rowid", -1);
+                    long offset = call.getData().optLong("offset", 0);
+                    String data = call.getString("data");
+                    if (offset < 0) {
+                        msg = "WriteBlob: offset must be positive";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    try {
+                        JSObject res = implementation.writeBlob(dbName, table, column, rowId, offset, data);
+                        rHandler.retChanges(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        msg = "WriteBlob: " + e.getMessage();
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    private String checkBlobOptions(PluginCall call, String method) {
         if (!call.getData().has("database")) {
-            String msg = "ExecuteSet: Must provide a database name";
-            rHandler.retChanges(call, retRes, msg);
-            return;
+            return method + ": Must provide a database name";
         }
-        String dbName = call.getString("database");
-        if (!call.getData().has("set")) {
-            String msg = "ExecuteSet: Must provide a set of SQL statements";
-            rHandler.retChanges(call, retRes, msg);
-            return;
+        if (!call.getData().has("table")) {
+            return method + ": Must provide a table name";
         }
-        JSArray set = call.getArray("set");
-        if (set.length() == 0) {
-            String msg = "ExecuteSet: Must provide a non-empty set of SQL statements";
-            rHandler.retChanges(call, retRes, msg);
-            return;
+        if (!call.getData().has("column")) {
+            return method + ": Must provide a column name";
         }
-        for (int i = 0; i < set.length(); i++) {
-            JSONArray keys = set.getJSONObject(i).names();
-            for (int j = 0; j < keys.length(); ++j) {
-                String key = keys.getString(j);
-                if (!(key.equals("statement")) && !(key.equals("values"))) {
-                    String msg = "ExecuteSet: Must provide a set as Array of {statement,";
-                    msg += "values}";
-                    rHandler.retChanges(call, retRes, msg);
-                    return;
+        if (!call.getData().has("rowid")) {
+            return method + ": Must provide a rowid";
+        }
+        return null;
+    }
+
+    /**
+     * GetStats Method
+     * Get the cache statistics of a connection
+     * @param call
+     */
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "GetStats: Must provide a database name";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        JSObject res = implementation.getStats(dbName);
+                        rHandler.retObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "GetStats: " + e.getMessage();
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
                 }
             }
-        }
-        Boolean transaction = call.getBoolean("transaction", true);
-        try {
-            JSObject res = implementation.executeSet(dbName, set, transaction);
-            rHandler.retChanges(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "ExecuteSet: " + e.getMessage();
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
+        );
+    }
+
+    /**
+     * SetSlowQueryLog Method
+     * Configure the slow query log of a connection
+     * @param call
+     */
+    @PluginMethod
+    public void setSlowQueryLog(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "SetSlowQueryLog: Must provide a database name";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("threshold")) {
+                        String msg = "SetSlowQueryLog: Must provide a threshold";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    Integer threshold = call.getInt("threshold");
+                    Integer capacity = call.getInt("capacity", 50);
+                    Boolean notify = call.getBoolean("notify", false);
+                    try {
+                        implementation.setSlowQueryLog(dbName, threshold, capacity, notify);
+                        rHandler.retResult(call, true, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "SetSlowQueryLog: " + e.getMessage();
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * GetSlowQueries Method
+     * Get the statements recorded by the slow query log
+     * @param call
+     */
+    @PluginMethod
+    public void getSlowQueries(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "GetSlowQueries: Must provide a database name";
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    Boolean clear = call.getBoolean("clear", false);
+                    try {
+                        JSArray res = implementation.getSlowQueries(dbName, clear);
+                        rHandler.retValues(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "GetSlowQueries: " + e.getMessage();
+                        rHandler.retValues(call, new JSArray(), msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * WatchQuery Method
+     * Watch a query, its changes are sent as sqliteWatchQueryEvent
+     * @param call
+     */
+    @PluginMethod
+    public void watchQuery(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "WatchQuery: Must provide a database name";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("statement")) {
+                        String msg = "WatchQuery: Must provide a SQL statement";
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                    String statement = call.getString("statement");
+                    JSArray values = call.getArray("values", new JSArray());
+                    String key = call.getString("key");
+                    Integer debounce = call.getInt("debounce", 50);
+                    try {
+                        JSObject res = implementation.watchQuery(dbName, statement, values, key, debounce);
+                        rHandler.retObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "WatchQuery: " + e.getMessage();
+                        rHandler.retObject(call, new JSObject(), msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
-     * Run method
-     * Execute a raw sql statement
+     * UnwatchQuery Method
      * @param call
      */
     @PluginMethod
-    public void run(PluginCall call) {
-        JSObject retRes = new JSObject();
-        retRes.put("changes", Integer.valueOf(-1));
-        if (!call.getData().has("database")) {
-            String msg = "Run: Must provide a database name";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        if (!call.getData().has("statement")) {
-            String msg = "Run: Must provide a SQL statement";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String statement = call.getString("statement");
-        if (!call.getData().has("values")) {
-            String msg = "Run: Must provide an Array of values";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        JSArray values = call.getArray("values");
-
-        Boolean transaction = call.getBoolean("transaction", true);
-
-        try {
-            JSObject res = implementation.run(dbName, statement, values, transaction);
-            rHandler.retChanges(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Run: " + e.getMessage();
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
+    public void unwatchQuery(PluginCall call) {
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "UnwatchQuery: Must provide a database name";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("watchId")) {
+                        String msg = "UnwatchQuery: Must provide a watchId";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    Integer watchId = call.getInt("watchId");
+                    try {
+                        Boolean res = implementation.unwatchQuery(dbName, watchId);
+                        rHandler.retResult(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "UnwatchQuery: " + e.getMessage();
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
-     * Query Method
-     * Execute an sql query
+     * Cancel Method
+     * Cancel the calls started with a requestId, not queued
+     * on the connection so it is not delayed by the call it stops
      * @param call
      */
     @PluginMethod
-    public void query(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "Run: Must provide a database name";
-            rHandler.retValues(call, new JSArray(), msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        if (!call.getData().has("statement")) {
-            String msg = "Query: Must provide a SQL statement";
-            rHandler.retValues(call, new JSArray(), msg);
-            return;
-        }
-        String statement = call.getString("statement");
-        if (!call.getData().has("values")) {
-            String msg = "Query: Must provide an Array of Strings";
-            rHandler.retValues(call, new JSArray(), msg);
-            return;
-        }
-        JSArray values = call.getArray("values");
-        try {
-            JSArray res = implementation.query(dbName, statement, values);
-            rHandler.retValues(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "Query: " + e.getMessage();
-            rHandler.retValues(call, new JSArray(), msg);
+    public void cancel(PluginCall call) {
+        if (!call.getData().has("requestId")) {
+            String msg = "Cancel: Must provide a requestId";
+            rHandler.retResult(call, false, msg);
             return;
         }
+        String requestId = call.getString("requestId");
+        Boolean res = implementation.cancel(requestId);
+        rHandler.retResult(call, res, null);
     }
 
     /**
@@ -562,21 +1296,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void isDBOpen(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "isDBOpen: Must provide a database name";
-            rHandler.retResult(call, false, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            Boolean res = implementation.isDBOpen(dbName);
-            rHandler.retResult(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "isDBOpen: " + e.getMessage();
-            rHandler.retResult(call, false, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "isDBOpen: Must provide a database name";
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        Boolean res = implementation.isDBOpen(dbName);
+                        rHandler.retResult(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "isDBOpen: " + e.getMessage();
+                        rHandler.retResult(call, false, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -586,21 +1328,29 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void deleteDatabase(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "deleteDatabase: Must provide a database name";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            implementation.deleteDatabase(dbName);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "deleteDatabase: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "deleteDatabase: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        implementation.deleteDatabase(dbName);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "deleteDatabase: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -610,23 +1360,31 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void createSyncTable(PluginCall call) {
-        JSObject retRes = new JSObject();
-        retRes.put("changes", Integer.valueOf(-1));
-        if (!call.getData().has("database")) {
-            String msg = "CreateSyncTable: Must provide a database name";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            JSObject res = implementation.createSyncTable(dbName);
-            rHandler.retChanges(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "CreateSyncTable: " + e.getMessage();
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("database")) {
+                        String msg = "CreateSyncTable: Must provide a database name";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        JSObject res = implementation.createSyncTable(dbName);
+                        rHandler.retChanges(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CreateSyncTable: " + e.getMessage();
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -636,28 +1394,36 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void setSyncDate(PluginCall call) {
-        if (!call.getData().has("database")) {
-            String msg = "SetSyncDate: Must provide a database name";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String dbName = call.getString("database");
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    if (!call.getData().has("database")) {
+                        String msg = "SetSyncDate: Must provide a database name";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
 
-        if (!call.getData().has("syncdate")) {
-            String msg = "SetSyncDate : Must provide a sync date";
-            rHandler.retResult(call, null, msg);
-            return;
-        }
-        String syncDate = call.getString("syncdate");
-        try {
-            implementation.setSyncDate(dbName, syncDate);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "SetSyncDate: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+                    if (!call.getData().has("syncdate")) {
+                        String msg = "SetSyncDate : Must provide a sync date";
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                    String syncDate = call.getString("syncdate");
+                    try {
+                        implementation.setSyncDate(dbName, syncDate);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "SetSyncDate: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -667,23 +1433,31 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void getSyncDate(PluginCall call) {
-        JSObject retRes = new JSObject();
-        if (!call.getData().has("database")) {
-            String msg = "GetSyncDate : Must provide a database name";
-            retRes.put("changes", Integer.valueOf(-1));
-            rHandler.retSyncDate(call, new Long(0), msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        try {
-            long syncDate = implementation.getSyncDate(dbName);
-            rHandler.retSyncDate(call, syncDate, null);
-            return;
-        } catch (Exception e) {
-            String msg = "GetSyncDate: " + e.getMessage();
-            rHandler.retSyncDate(call, new Long(0), msg);
-            return;
-        }
+        implementation.dispatch(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retRes = new JSObject();
+                    if (!call.getData().has("database")) {
+                        String msg = "GetSyncDate : Must provide a database name";
+                        retRes.put("changes", Integer.valueOf(-1));
+                        rHandler.retSyncDate(call, new Long(0), msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    try {
+                        long syncDate = implementation.getSyncDate(dbName);
+                        rHandler.retSyncDate(call, syncDate, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "GetSyncDate: " + e.getMessage();
+                        rHandler.retSyncDate(call, new Long(0), msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -749,23 +1523,32 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void importFromJson(PluginCall call) {
-        JSObject retRes = new JSObject();
-        retRes.put("changes", Integer.valueOf(-1));
-        if (!call.getData().has("jsonstring")) {
-            String msg = "ImportFromJson: Must provide a Stringify Json Object";
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
-        String parsingData = call.getString("jsonstring");
-        try {
-            JSObject res = implementation.importFromJson(parsingData);
-            rHandler.retChanges(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "ImportFromJson: " + e.getMessage();
-            rHandler.retChanges(call, retRes, msg);
-            return;
-        }
+        implementation.dispatchBulk(
+            null,
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("jsonstring")) {
+                        String msg = "ImportFromJson: Must provide a Stringify Json Object";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String parsingData = call.getString("jsonstring");
+                    Boolean bulkLoad = call.getData().has("bulkLoad") ? call.getBoolean("bulkLoad") : false;
+                    try {
+                        JSObject res = implementation.importFromJson(parsingData, bulkLoad);
+                        rHandler.retChanges(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "ImportFromJson: " + e.getMessage();
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -775,36 +1558,130 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void exportToJson(PluginCall call) {
-        JSObject retObj = new JSObject();
-        JsonSQLite retJson = new JsonSQLite();
-        if (!call.getData().has("database")) {
-            String msg = "ExportToJson: Must provide a database name";
-            rHandler.retJSObject(call, retObj, msg);
-            return;
-        }
-        String dbName = call.getString("database");
-        if (!call.getData().has("jsonexportmode")) {
-            String msg = "ExportToJson: Must provide an export mode";
-            rHandler.retJSObject(call, retObj, msg);
-            return;
-        }
-        String expMode = call.getString("jsonexportmode");
+        implementation.dispatchBulk(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retObj = new JSObject();
+                    JsonSQLite retJson = new JsonSQLite();
+                    if (!call.getData().has("database")) {
+                        String msg = "ExportToJson: Must provide a database name";
+                        rHandler.retJSObject(call, retObj, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("jsonexportmode")) {
+                        String msg = "ExportToJson: Must provide an export mode";
+                        rHandler.retJSObject(call, retObj, msg);
+                        return;
+                    }
+                    String expMode = call.getString("jsonexportmode");
 
-        if (!expMode.equals("full") && !expMode.equals("partial")) {
-            String msg = "ExportToJson: Json export mode should be 'full' or 'partial'";
-            rHandler.retJSObject(call, retObj, msg);
-            return;
-        }
+                    if (!expMode.equals("full") && !expMode.equals("partial")) {
+                        String msg = "ExportToJson: Json export mode should be 'full' or 'partial'";
+                        rHandler.retJSObject(call, retObj, msg);
+                        return;
+                    }
 
-        try {
-            JSObject res = implementation.exportToJson(dbName, expMode);
-            rHandler.retJSObject(call, res, null);
-            return;
-        } catch (Exception e) {
-            String msg = "ExportToJson: " + e.getMessage();
-            rHandler.retJSObject(call, retObj, msg);
-            return;
-        }
+                    try {
+                        JSObject res = implementation.exportToJson(dbName, expMode);
+                        rHandler.retJSObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "ExportToJson: " + e.getMessage();
+                        rHandler.retJSObject(call, retObj, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * ImportFromJsonFile Method
+     * Import from a Json file of the app sandbox
+     * @param call
+     */
+    @PluginMethod
+    public void importFromJsonFile(PluginCall call) {
+        implementation.dispatchBulk(
+            null,
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retRes = new JSObject();
+                    retRes.put("changes", Integer.valueOf(-1));
+                    if (!call.getData().has("path")) {
+                        String msg = "ImportFromJsonFile: Must provide a file path";
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                    String path = call.getString("path");
+                    String dbName = call.getString("database");
+                    Boolean bulkLoad = call.getData().has("bulkLoad") ? call.getBoolean("bulkLoad") : false;
+                    try {
+                        JSObject res = implementation.importFromJsonFile(dbName, path, bulkLoad);
+                        rHandler.retChanges(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "ImportFromJsonFile: " + e.getMessage();
+                        rHandler.retChanges(call, retRes, msg);
+                        return;
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * ExportToJsonFile Method
+     * Export the database to a Json file of the app sandbox
+     * @param call
+     */
+    @PluginMethod
+    public void exportToJsonFile(PluginCall call) {
+        implementation.dispatchBulk(
+            call.getString("database"),
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    JSObject retObj = new JSObject();
+                    if (!call.getData().has("database")) {
+                        String msg = "ExportToJsonFile: Must provide a database name";
+                        rHandler.retObject(call, retObj, msg);
+                        return;
+                    }
+                    String dbName = call.getString("database");
+                    if (!call.getData().has("path")) {
+                        String msg = "ExportToJsonFile: Must provide a file path";
+                        rHandler.retObject(call, retObj, msg);
+                        return;
+                    }
+                    String path = call.getString("path");
+                    if (!call.getData().has("jsonexportmode")) {
+                        String msg = "ExportToJsonFile: Must provide an export mode";
+                        rHandler.retObject(call, retObj, msg);
+                        return;
+                    }
+                    String expMode = call.getString("jsonexportmode");
+                    if (!expMode.equals("full") && !expMode.equals("partial")) {
+                        String msg = "ExportToJsonFile: Json export mode should be 'full' or 'partial'";
+                        rHandler.retObject(call, retObj, msg);
+                        return;
+                    }
+                    try {
+                        JSObject res = implementation.exportToJsonFile(dbName, path, expMode);
+                        rHandler.retObject(call, res, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "ExportToJsonFile: " + e.getMessage();
+                        rHandler.retObject(call, retObj, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     /**
@@ -814,17 +1691,25 @@ public class CapacitorSQLitePlugin extends Plugin {
      */
     @PluginMethod
     public void copyFromAssets(PluginCall call) {
-        Boolean overwrite = call.getData().has("overwrite") ? call.getBoolean("overwrite") : true;
+        implementation.dispatchBulk(
+            null,
+            new CallTask(call) {
+                @Override
+                public void run() {
+                    Boolean overwrite = call.getData().has("overwrite") ? call.getBoolean("overwrite") : true;
 
-        try {
-            implementation.copyFromAssets(overwrite);
-            rHandler.retResult(call, null, null);
-            return;
-        } catch (Exception e) {
-            String msg = "CopyFromAssets: " + e.getMessage();
-            rHandler.retResult(call, null, msg);
-            return;
-        }
+                    try {
+                        implementation.copyFromAssets(overwrite);
+                        rHandler.retResult(call, null, null);
+                        return;
+                    } catch (Exception e) {
+                        String msg = "CopyFromAssets: " + e.getMessage();
+                        rHandler.retResult(call, null, msg);
+                        return;
+                    }
+                }
+            }
+        );
     }
 
     private void AddObserversToNotificationCenter() {
@@ -856,5 +1741,59 @@ public class CapacitorSQLitePlugin extends Plugin {
                     }
                 }
             );
+        NotificationCenter
+            .defaultCenter()
+            .addMethodForNotification(
+                "slowQuery",
+                new MyRunnable() {
+                    @Override
+                    public void run() {
+                        JSObject data = new JSObject();
+                        data.put("database", this.getInfo().get("database"));
+                        data.put("entry", this.getInfo().get("entry"));
+                        notifyListeners("sqliteSlowQueryEvent", data);
+                        return;
+                    }
+                }
+            );
+        NotificationCenter
+            .defaultCenter()
+            .addMethodForNotification(
+                "watchQuery",
+                new MyRunnable() {
+                    @Override
+                    public void run() {
+                        JSObject data = new JSObject();
+                        data.put("database", this.getInfo().get("database"));
+                        data.put("watchId", this.getInfo().get("watchId"));
+                        if (this.getInfo().containsKey("error")) {
+                            data.put("error", this.getInfo().get("error"));
+                        } else {
+                            data.put("diff", this.getInfo().get("diff"));
+                        }
+                        notifyListeners("sqliteWatchQueryEvent", data);
+                        return;
+                    }
+                }
+            );
+    }
+
+    /**
+     * CallTask
+     * A task of a call dispatched on a connection, the call
+     * is rejected when its connection is closing
+     */
+    private abstract class CallTask implements Database.Rejectable {
+
+        private final PluginCall call;
+
+        CallTask(PluginCall call) {
+            this.call = call;
+        }
+
+        @Override
+        public void reject(String message) {
+            rHandler.retResult(call, null, message);
+        }
     }
 }
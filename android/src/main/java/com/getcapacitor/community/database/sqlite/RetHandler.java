@@ -99,6 +99,46 @@ public class RetHandler {
         }
     }
 
+    /**
+     * RetValues Method
+     * Create and return the capSQLiteValues object
+     * with the columnar values {columns,types,rows}
+     * @param call
+     * @param res
+     * @param message
+     */
+    public void retValues(PluginCall call, JSObject res, String message) {
+        JSObject ret = new JSObject();
+        if (message != null) {
+            ret.put("message", message);
+            Log.v(TAG, "*** ERROR " + message);
+            call.reject(message);
+            return;
+        } else {
+            ret.put("values", res);
+            call.resolve(ret);
+            return;
+        }
+    }
+
+    /**
+     * RetObject Method
+     * Return the given object as is
+     * @param call
+     * @param res
+     * @param message
+     */
+    public void retObject(PluginCall call, JSObject res, String message) {
+        if (message != null) {
+            Log.v(TAG, "*** ERROR " + message);
+            call.reject(message);
+            return;
+        } else {
+            call.resolve(res);
+            return;
+        }
+    }
+
     /**
      * RetSyncDate Method
      * Create and return the capSQLiteSyncDate object
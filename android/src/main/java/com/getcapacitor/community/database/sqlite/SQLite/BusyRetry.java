@@ -0,0 +1,159 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.database.sqlite.SQLiteDatabaseLockedException;
+import android.database.sqlite.SQLiteTableLockedException;
+import com.getcapacitor.JSObject;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+public class BusyRetry {
+
+    private static final long BASE_DELAY = 10;
+    private static final long MAX_DELAY = 250;
+    private final Random random = new Random();
+    private long busyTimeout = 2000;
+    private int maxRetries = 3;
+    private long busyErrors = 0;
+    private long retries = 0;
+    private long recovered = 0;
+    private long exhausted = 0;
+
+    /**
+     * Configure Method
+     * @param busyTimeout the PRAGMA busy_timeout in ms
+     * @param maxRetries the retries of a write failing with a lock error
+     */
+    public synchronized void configure(long busyTimeout, int maxRetries) {
+        this.busyTimeout = Math.max(0, busyTimeout);
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    public synchronized long getBusyTimeout() {
+        return busyTimeout;
+    }
+
+    /**
+     * BusyException
+     * A lock error of a write, the write left nothing behind
+     * when retryable and its call may be queued again
+     */
+    public static class BusyException extends Exception {
+
+        private final boolean retryable;
+
+        BusyException(Exception cause, boolean retryable) {
+            super(cause.getMessage(), cause);
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    /**
+     * Attempt
+     * A call run by a connection executor, queued again after a
+     * backoff while it fails with a retryable lock error
+     */
+    public interface Attempt {
+        /**
+         * Run the call and resolve it
+         * @throws Exception the error of the call, not yet reported
+         */
+        void run() throws Exception;
+
+        /**
+         * Report the error of the call, no attempt follows
+         * @param e
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * IsBusy Method
+     * @param e
+     * @return true for SQLITE_BUSY and SQLITE_LOCKED errors,
+     * the other errors are not retried
+     */
+    public static boolean isBusy(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLiteDatabaseLockedException || t instanceof SQLiteTableLockedException) return true;
+            // SQLCipher raises its own SQLiteException for these codes
+            if (t instanceof net.sqlcipher.database.SQLiteException || t instanceof android.database.sqlite.SQLiteException) {
+                String msg = t.getMessage();
+                if (msg != null && (msg.contains("database is locked") || msg.contains("database table is locked"))) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run Method
+     * Run a write once, a lock error is reported as a BusyException
+     * the connection executor queues its call again on, the thread
+     * is never blocked by a backoff
+     * @param retryable false when the write cannot be replayed
+     * @param op the write, it must leave nothing behind when failing
+     * @return
+     * @throws Exception
+     */
+    public <T> T run(boolean retryable, Callable<T> op) throws Exception {
+        try {
+            return op.call();
+        } catch (BusyException e) {
+            // a nested write, the outer one decides on the retry
+            throw e;
+        } catch (Exception e) {
+            if (!isBusy(e)) throw e;
+            synchronized (this) {
+                busyErrors++;
+            }
+            throw new BusyException(e, retryable);
+        }
+    }
+
+    /**
+     * NextDelay Method
+     * @param e the error of a call
+     * @param attempt the retries already made by the call
+     * @return the backoff in ms before queuing the call again,
+     * -1 when the error is reported
+     */
+    public long nextDelay(Exception e, int attempt) {
+        if (!(e instanceof BusyException) || !((BusyException) e).isRetryable()) return -1;
+        synchronized (this) {
+            if (attempt >= maxRetries) {
+                exhausted++;
+                return -1;
+            }
+            retries++;
+            // full jitter, spreads the handles retrying together
+            long cap = Math.min(MAX_DELAY, BASE_DELAY << attempt);
+            return (long) (random.nextDouble() * cap) + 1;
+        }
+    }
+
+    /**
+     * Recovered Method
+     * Count a call completed after a retry
+     */
+    public synchronized void recovered() {
+        recovered++;
+    }
+
+    /**
+     * GetStats Method
+     * @return the lock errors and retries counters
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("busyTimeout", busyTimeout);
+        ret.put("maxRetries", maxRetries);
+        ret.put("busyErrors", busyErrors);
+        ret.put("retries", retries);
+        ret.put("recovered", recovered);
+        ret.put("exhausted", exhausted);
+        return ret;
+    }
+}
@@ -0,0 +1,202 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.sqlcipher.Cursor;
+
+public class CursorRegistry {
+
+    private static final String TAG = CursorRegistry.class.getName();
+    private static final long DEFAULT_IDLE_TIMEOUT = 60000;
+    private final Database db;
+    private final long idleTimeout;
+    private final HashMap<Integer, Entry> cursors = new HashMap<>();
+    private int nextHandle = 1;
+    // the sweep runs while cursors are registered, even without further call
+    private ScheduledExecutorService scheduler = null;
+    private boolean sweepScheduled = false;
+
+    private static class Entry {
+
+        final Cursor cursor;
+        // the read-only handle kept by the cursor, null on the writer
+        final ReaderPool pool;
+        final SupportSQLiteDatabase reader;
+        long lastAccess;
+
+        Entry(Cursor cursor, ReaderPool pool, SupportSQLiteDatabase reader) {
+            this.cursor = cursor;
+            this.pool = pool;
+            this.reader = reader;
+            this.lastAccess = SystemClock.elapsedRealtime();
+        }
+    }
+
+    public CursorRegistry(Database db) {
+        this(db, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public CursorRegistry(Database db, long idleTimeout) {
+        this.db = db;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Register Method
+     * Keep a live cursor and return its handle
+     * @param cursor
+     * @return
+     */
+    public synchronized int register(Cursor cursor) {
+        return register(cursor, null, null);
+    }
+
+    /**
+     * Register Method
+     * Keep a live cursor reading a handle of the pool, the handle
+     * is released to the pool once the cursor is closed
+     * @param cursor
+     * @param pool
+     * @param reader
+     * @return
+     */
+    public synchronized int register(Cursor cursor, ReaderPool pool, SupportSQLiteDatabase reader) {
+        sweep();
+        int handle = nextHandle++;
+        cursors.put(handle, new Entry(cursor, pool, reader));
+        scheduleSweep(idleTimeout);
+        return handle;
+    }
+
+    /**
+     * Get Method
+     * Return the live cursor for a given handle
+     * @param handle
+     * @return
+     * @throws Exception
+     */
+    public synchronized Cursor get(int handle) throws Exception {
+        sweep();
+        Entry entry = cursors.get(handle);
+        if (entry == null) {
+            throw new Exception("cursor " + handle + " does not exist or has timed out");
+        }
+        entry.lastAccess = SystemClock.elapsedRealtime();
+        return entry.cursor;
+    }
+
+    /**
+     * Close Method
+     * Close the cursor for a given handle
+     * @param handle
+     * @return false if the handle was not registered
+     */
+    public synchronized boolean close(int handle) {
+        sweep();
+        Entry entry = cursors.remove(handle);
+        if (entry == null) return false;
+        closeCursor(entry);
+        return true;
+    }
+
+    /**
+     * CloseAll Method
+     * Close all the registered cursors
+     */
+    public synchronized void closeAll() {
+        for (Entry entry : cursors.values()) {
+            closeCursor(entry);
+        }
+        cursors.clear();
+        stopSweep();
+    }
+
+    public synchronized int size() {
+        return cursors.size();
+    }
+
+    private void sweep() {
+        long now = SystemClock.elapsedRealtime();
+        Iterator<Map.Entry<Integer, Entry>> it = cursors.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Entry> item = it.next();
+            if (now - item.getValue().lastAccess > idleTimeout) {
+                Log.d(TAG, "cursor " + item.getKey() + " timed out");
+                closeCursor(item.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Schedule the sweep on the connection executor, a cursor
+     * must not be closed while a call on the connection reads it
+     * @param delay in ms
+     */
+    private void scheduleSweep(long delay) {
+        if (sweepScheduled) return;
+        if (scheduler == null) scheduler = Executors.newSingleThreadScheduledExecutor();
+        sweepScheduled = true;
+        scheduler.schedule(
+            new Runnable() {
+                @Override
+                public void run() {
+                    db
+                        .getExecutor()
+                        .execute(
+                            db.leased(
+                                new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        onSweep();
+                                    }
+                                }
+                            )
+                        );
+                }
+            },
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    private synchronized void onSweep() {
+        sweepScheduled = false;
+        sweep();
+        if (cursors.isEmpty()) {
+            stopSweep();
+            return;
+        }
+        // next run when the oldest cursor times out
+        long oldest = Long.MAX_VALUE;
+        for (Entry entry : cursors.values()) {
+            oldest = Math.min(oldest, entry.lastAccess);
+        }
+        long delay = oldest + idleTimeout - SystemClock.elapsedRealtime();
+        scheduleSweep(Math.max(delay, 0) + 1);
+    }
+
+    private void stopSweep() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        sweepScheduled = false;
+    }
+
+    private void closeCursor(Entry entry) {
+        try {
+            entry.cursor.close();
+        } catch (Exception e) {
+            Log.d(TAG, "Error: closeCursor failed: " + e.getMessage());
+        }
+        if (entry.pool != null) entry.pool.release(entry.reader);
+    }
+}
@@ -1,14 +1,10 @@
 package com.getcapacitor.community.database.sqlite.SQLite;
 
-import static android.database.Cursor.FIELD_TYPE_BLOB;
-import static android.database.Cursor.FIELD_TYPE_FLOAT;
-import static android.database.Cursor.FIELD_TYPE_INTEGER;
-import static android.database.Cursor.FIELD_TYPE_NULL;
-import static android.database.Cursor.FIELD_TYPE_STRING;
-
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.SystemClock;
 import android.text.TextUtils;
+import android.util.Base64;
 import android.util.Log;
 import androidx.sqlite.db.SimpleSQLiteQuery;
 import androidx.sqlite.db.SupportSQLiteDatabase;
@@ -17,7 +13,9 @@ import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.community.database.sqlite.SQLite.GlobalSQLite;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ExportToJson;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ExportToJsonStream;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ImportFromJson;
+import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.ImportFromJsonStream;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.JsonSQLite;
 import com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson.UtilsJson;
 import com.getcapacitor.community.database.sqlite.SQLite.UtilsSQLCipher;
@@ -29,6 +27,11 @@ import java.util.Date;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import net.sqlcipher.Cursor;
 import net.sqlcipher.database.SQLiteDatabase;
 import net.sqlcipher.database.SQLiteException;
@@ -38,7 +41,7 @@ import org.json.JSONObject;
 public class Database {
 
     private static final String TAG = Database.class.getName();
-    private Boolean _isOpen = false;
+    private volatile Boolean _isOpen = false;
     private String _dbName;
     private Context _context;
     private String _mode;
@@ -48,13 +51,44 @@ public class Database {
     private File _file;
     private int _version;
     private GlobalSQLite _globVar;
-    private SupportSQLiteDatabase _db = null;
+    private volatile SupportSQLiteDatabase _db = null;
     private UtilsSQLite _uSqlite;
     private UtilsSQLCipher _uCipher;
     private UtilsFile _uFile;
     private UtilsJson _uJson;
     private UtilsUpgrade _uUpg;
     private UtilsSecret _uSecret;
+    private StatementCache _stmtCache = new StatementCache();
+    private CursorRegistry _cursors = new CursorRegistry(this);
+    private SchemaCatalog _catalog = new SchemaCatalog(this);
+    private SlowQueryLog _slowLog;
+    private SerialExecutor _executor = new SerialExecutor();
+    private QueryWatchers _watchers;
+    private GroupCommit _groupCommit;
+    private Maintenance _maintenance;
+    private BusyRetry _busyRetry = new BusyRetry();
+    private volatile long _lastActivity = 0;
+    private Boolean _wal = false;
+    private int _readers = 2;
+    private ReaderPool _readerPool = null;
+    // transaction opened by beginTransaction, joined by the calls
+    private volatile boolean _txOpen = false;
+    private int _txId = 0;
+    private long _txTimeout = 0;
+    private volatile long _txLastUse = 0;
+    private ScheduledExecutorService _txWatchdog = null;
+    // calls in flight on the connection, drained by close
+    private final Object _leaseLock = new Object();
+    private int _leases = 0;
+    private volatile boolean _closing = false;
+    private final ThreadLocal<Integer> _ownLeases = new ThreadLocal<Integer>() {
+        @Override
+        protected Integer initialValue() {
+            return 0;
+        }
+    };
+    private SupportSQLiteStatement _lastIdStmt = null;
+    private int _lastChanges = 0;
     private Dictionary<Integer, JSONObject> _vUpgObject = new Hashtable<>();
     private ImportFromJson fromJson = new ImportFromJson();
     private ExportToJson toJson = new ExportToJson();
@@ -75,7 +109,11 @@ public class Database {
         this._version = version;
         this._vUpgObject = vUpgObject;
         this._sharedPreferences = sharedPreferences;
+        this._slowLog = new SlowQueryLog(dbName);
+        this._watchers = new QueryWatchers(this, dbName);
+        this._groupCommit = new GroupCommit(this);
         this._file = this._context.getDatabasePath(dbName);
+        this._maintenance = new Maintenance(this, this._file, sharedPreferences);
         this._globVar = new GlobalSQLite();
         this._uSqlite = new UtilsSQLite();
         this._uCipher = new UtilsSQLCipher();
@@ -102,12 +140,142 @@ public class Database {
         return _db;
     }
 
+    /**
+     * SetWalMode Method
+     * Open the database in WAL journal mode with a pool of
+     * read-only handles, to be called before open
+     * @param wal
+     * @param readers the number of read-only handles
+     */
+    public void setWalMode(Boolean wal, int readers) {
+        this._wal = wal;
+        this._readers = readers;
+    }
+
+    /**
+     * GetReaderPool Method
+     * @return the pool of read-only handles, null when not in WAL mode
+     */
+    public ReaderPool getReaderPool() {
+        return _readerPool;
+    }
+
     /**
      * isOpen Method
      * @return database open status
      */
     public Boolean isOpen() {
-        return _isOpen;
+        return _isOpen && !_closing;
+    }
+
+    /**
+     * Rejectable
+     * A call which is rejected instead of run when
+     * it starts while its connection is closing
+     */
+    public interface Rejectable extends Runnable {
+        void reject(String message);
+    }
+
+    /**
+     * Leased Method
+     * Wrap a call on the connection, close waits for
+     * the wrapped calls in flight before releasing the handles
+     * A call starting while closing does not run, a Rejectable
+     * call is rejected with "database closed"
+     * @param task
+     * @return
+     */
+    public Runnable leased(final Runnable task) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                _lastActivity = SystemClock.elapsedRealtime();
+                if (!acquireLease()) {
+                    if (task instanceof Rejectable) {
+                        ((Rejectable) task).reject("database closed");
+                    } else {
+                        Log.v(TAG, "database " + _dbName + " closed, call skipped");
+                    }
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    releaseLease();
+                }
+            }
+        };
+    }
+
+    /**
+     * Attempted Method
+     * Wrap a call queued again on its lane after a backoff while
+     * it fails with a retryable lock error, the calls queued
+     * meanwhile run first, the executor is never blocked
+     * @param attempt
+     * @return
+     */
+    public Runnable attempted(final BusyRetry.Attempt attempt) {
+        return new Rejectable() {
+            private int retries = 0;
+
+            @Override
+            public void reject(String message) {
+                attempt.onError(new Exception(message));
+            }
+
+            @Override
+            public void run() {
+                try {
+                    attempt.run();
+                    if (retries > 0) _busyRetry.recovered();
+                } catch (Exception e) {
+                    long delay = _busyRetry.nextDelay(e, retries);
+                    if (delay < 0) {
+                        attempt.onError(e);
+                        return;
+                    }
+                    retries++;
+                    _executor.executeDelayed(leased(this), delay);
+                }
+            }
+        };
+    }
+
+    private boolean acquireLease() {
+        synchronized (_leaseLock) {
+            // a call starting while closing finds the database closed,
+            // a call on a closed database (open) runs under its lease
+            if (_closing) return false;
+            _leases++;
+        }
+        _ownLeases.set(_ownLeases.get() + 1);
+        return true;
+    }
+
+    private void releaseLease() {
+        _ownLeases.set(_ownLeases.get() - 1);
+        synchronized (_leaseLock) {
+            _leases--;
+            _leaseLock.notifyAll();
+        }
+    }
+
+    /**
+     * DrainLeases Method
+     * Wait for the calls in flight on other threads,
+     * the lease of a close running as a call is not waited for
+     * @throws InterruptedException
+     */
+    private void drainLeases() throws InterruptedException {
+        int own = _ownLeases.get();
+        synchronized (_leaseLock) {
+            _closing = true;
+            while (_leases > own) {
+                _leaseLock.wait();
+            }
+        }
     }
 
     /**
@@ -193,7 +361,28 @@ public class Database {
                             }
                         }
                     }
+                    try {
+                        setBusyTimeout(_db);
+                    } catch (Exception e) {
+                        String msg = "Failed in busy_timeout " + e.getMessage();
+                        Log.v(TAG, msg);
+                        close();
+                        _db = null;
+                        throw new Exception(msg);
+                    }
+                    if (_wal) {
+                        try {
+                            openReaderPool(password);
+                        } catch (Exception e) {
+                            String msg = "Failed in WAL mode " + e.getMessage();
+                            Log.v(TAG, msg);
+                            close();
+                            _db = null;
+                            throw new Exception(msg);
+                        }
+                    }
                     _isOpen = true;
+                    _maintenance.start();
                     return;
                 } else {
                     _isOpen = false;
@@ -213,6 +402,59 @@ public class Database {
         }
     }
 
+    /**
+     * OpenReaderPool Method
+     * Switch the journal to WAL and open the read-only handles,
+     * readers then see the last committed state without waiting
+     * for the writer
+     * @param password
+     * @throws Exception
+     */
+    private void openReaderPool(String password) throws Exception {
+        Cursor c = null;
+        try {
+            c = (Cursor) _db.query("PRAGMA journal_mode = WAL;");
+            String mode = c.moveToFirst() ? c.getString(0) : "";
+            if (!mode.equalsIgnoreCase("wal")) {
+                throw new Exception("journal_mode is " + mode);
+            }
+        } finally {
+            if (c != null) c.close();
+        }
+        _readerPool = new ReaderPool(_file, password, Math.max(1, _readers));
+        for (SupportSQLiteDatabase reader : _readerPool.getReaders()) {
+            setBusyTimeout(reader);
+        }
+    }
+
+    /**
+     * SetBusyTimeout Method
+     * Let SQLite wait for a lock held by another handle
+     * before failing with SQLITE_BUSY
+     * @param db
+     */
+    private void setBusyTimeout(SupportSQLiteDatabase db) {
+        Cursor c = null;
+        try {
+            c = (Cursor) db.query("PRAGMA busy_timeout = " + _busyRetry.getBusyTimeout() + ";");
+            c.moveToFirst();
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    /**
+     * AcquireReader Method
+     * @param pool
+     * @return a read-only handle, or null when the read must stay on
+     * the writer (no pool, or a transaction open on this thread)
+     * @throws Exception
+     */
+    SupportSQLiteDatabase acquireReader(ReaderPool pool) throws Exception {
+        if (pool == null || _db.inTransaction()) return null;
+        return pool.acquire();
+    }
+
     /**
      * Close Method
      * @return close status
@@ -221,6 +463,36 @@ public class Database {
     public void close() throws Exception {
         if (_db.isOpen()) {
             try {
+                drainLeases();
+                if (_txOpen && !_db.inTransaction()) {
+                    throw new Exception("a transaction is still opened on the connection");
+                }
+                _cursors.closeAll();
+                _watchers.closeAll();
+                _groupCommit.closeAll();
+                _maintenance.stop();
+                _catalog.close();
+                _stmtCache.clear();
+                if (_txOpen) {
+                    // an abandoned transaction of this thread is rolled back
+                    _txOpen = false;
+                    _executor.setPinned(false);
+                    if (_db.inTransaction()) _db.endTransaction();
+                }
+                synchronized (this) {
+                    if (_txWatchdog != null) {
+                        _txWatchdog.shutdownNow();
+                        _txWatchdog = null;
+                    }
+                }
+                if (_readerPool != null) {
+                    _readerPool.close();
+                    _readerPool = null;
+                }
+                if (_lastIdStmt != null) {
+                    _lastIdStmt.close();
+                    _lastIdStmt = null;
+                }
                 _db.close();
                 _isOpen = false;
                 return;
@@ -228,6 +500,8 @@ public class Database {
                 String msg = "Failed in database close" + e.getMessage();
                 Log.v(TAG, msg);
                 throw new Exception(msg);
+            } finally {
+                _closing = false;
             }
         } else {
             throw new Exception("Database not opened");
@@ -275,19 +549,37 @@ public class Database {
      * @param statements Array of Strings
      * @return
      */
-    public JSObject execute(String[] statements, Boolean... others) throws Exception {
+    public JSObject execute(final String[] statements, final Boolean... others) throws Exception {
         Boolean transaction = others.length == 1 ? others[0] : true;
+        // replayed on a lock error when rolled back as a whole
+        boolean retryable = _db != null && !_db.inTransaction() && (transaction || statements.length == 1);
+        return _busyRetry.run(
+            retryable,
+            new Callable<JSObject>() {
+                @Override
+                public JSObject call() throws Exception {
+                    return executeOnce(statements, others);
+                }
+            }
+        );
+    }
+
+    private JSObject executeOnce(String[] statements, Boolean... others) throws Exception {
+        // a call joins the transaction opened by beginTransaction
+        Boolean transaction = (others.length == 1 ? others[0] : true) && !_txOpen;
+        touchTransaction();
         JSObject retObj = new JSObject();
         Integer changes = Integer.valueOf(-1);
         try {
             if (_db != null && _db.isOpen()) {
-                Integer initChanges = _uSqlite.dbChanges(_db);
                 if (transaction) _db.beginTransaction();
+                changes = Integer.valueOf(0);
                 for (String cmd : statements) {
+                    RequestRegistry.checkCancelled();
                     if (!cmd.endsWith(";")) cmd += ";";
-                    _db.execSQL(cmd);
+                    _watchers.onWrite(cmd);
+                    changes += execSQL(cmd);
                 }
-                changes = _uSqlite.dbChanges(_db) - initChanges;
                 if (changes != -1) {
                     if (transaction) _db.setTransactionSuccessful();
                     retObj.put("changes", changes);
@@ -297,9 +589,10 @@ public class Database {
                 throw new Exception("Database not opened");
             }
         } catch (Exception e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
         } finally {
             if (_db != null && transaction && _db.inTransaction()) _db.endTransaction();
+            notifyWatchers();
         }
     }
 
@@ -309,16 +602,32 @@ public class Database {
      * @param set JSArray of statements
      * @return
      */
-    public JSObject executeSet(JSArray set, Boolean... others) throws Exception {
+    public JSObject executeSet(final JSArray set, final Boolean... others) throws Exception {
         Boolean transaction = others.length == 1 ? others[0] : true;
+        return _busyRetry.run(
+            _db != null && !_db.inTransaction() && transaction,
+            new Callable<JSObject>() {
+                @Override
+                public JSObject call() throws Exception {
+                    return executeSetOnce(set, others);
+                }
+            }
+        );
+    }
+
+    private JSObject executeSetOnce(JSArray set, Boolean... others) throws Exception {
+        // a call joins the transaction opened by beginTransaction
+        Boolean transaction = (others.length == 1 ? others[0] : true) && !_txOpen;
+        touchTransaction();
         JSObject retObj = new JSObject();
         Long lastId = Long.valueOf(-1);
         Integer changes = Integer.valueOf(-1);
         try {
             if (_db != null && _db.isOpen()) {
-                Integer initChanges = _uSqlite.dbChanges(_db);
                 if (transaction) _db.beginTransaction();
+                changes = Integer.valueOf(0);
                 for (int i = 0; i < set.length(); i++) {
+                    RequestRegistry.checkCancelled();
                     JSONObject row = set.getJSONObject(i);
                     String statement = row.getString("statement");
                     JSONArray valuesJson = row.getJSONArray("values");
@@ -327,24 +636,17 @@ public class Database {
                         values.add(valuesJson.get(j));
                     }
                     Boolean isArray = values.size() > 0 ? _uSqlite.parse(values.get(0)) : false;
+                    _watchers.onWrite(statement);
                     if (isArray) {
-                        for (int j = 0; j < values.size(); j++) {
-                            JSONArray valsJson = (JSONArray) values.get(j);
-                            ArrayList<Object> vals = new ArrayList<>();
-                            for (int k = 0; k < valsJson.length(); k++) {
-                                vals.add(valsJson.get(k));
-                            }
-                            lastId = prepareSQL(statement, vals);
-                            if (lastId == -1) break;
-                        }
+                        lastId = prepareSQLBulk(statement, values);
                     } else {
                         lastId = prepareSQL(statement, values);
                     }
+                    changes += _lastChanges;
                     if (lastId == -1) break;
                 }
                 if (lastId != -1) {
                     if (transaction) _db.setTransactionSuccessful();
-                    changes = _uSqlite.dbChanges(_db) - initChanges;
                     retObj.put("changes", changes);
                     retObj.put("lastId", lastId);
                     return retObj;
@@ -355,9 +657,10 @@ public class Database {
                 throw new Exception("Database not opened");
             }
         } catch (Exception e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
         } finally {
             if (_db != null && transaction && _db.inTransaction()) _db.endTransaction();
+            notifyWatchers();
         }
     }
 
@@ -370,24 +673,168 @@ public class Database {
         return _db.inTransaction();
     }
 
+    /**
+     * IsTransactionOpen Method
+     * @return true while a transaction opened by beginTransaction runs
+     */
+    public boolean isTransactionOpen() {
+        return _txOpen;
+    }
+
+    /**
+     * BeginTransaction Method
+     * Open a transaction joined by the next calls until
+     * commitTransaction or rollbackTransaction
+     * @param mode "exclusive" or "immediate"
+     * @param timeout idle time in ms before the watchdog rolls back
+     * @throws Exception
+     */
+    public void beginTransaction(String mode, long timeout) throws Exception {
+        if (_db == null || !_db.isOpen()) throw new Exception("Database not opened");
+        if (_txOpen) throw new Exception("A transaction is already opened");
+        // the bulk job yielding would run inside the transaction
+        if (_executor.isYielding()) throw new Exception("A bulk job runs on the connection");
+        // the queued group commits first, its calls are resolved
+        // before the transaction takes the connection
+        _groupCommit.flushNow();
+        // the transaction is bound to the thread which began it
+        _executor.setPinned(true);
+        try {
+            if (mode.equals("exclusive")) {
+                _db.beginTransaction();
+            } else {
+                _db.beginTransactionNonExclusive();
+            }
+        } catch (Exception e) {
+            _executor.setPinned(false);
+            throw new Exception("Failed in beginTransaction " + e.getMessage());
+        }
+        _txOpen = true;
+        _txId++;
+        _txTimeout = timeout;
+        touchTransaction();
+        scheduleWatchdog(_txId, timeout);
+    }
+
+    /**
+     * CommitTransaction Method
+     * @throws Exception
+     */
+    public void commitTransaction() throws Exception {
+        if (!_txOpen) throw new Exception("No transaction opened");
+        try {
+            _db.setTransactionSuccessful();
+        } finally {
+            endTransaction();
+        }
+    }
+
+    /**
+     * RollbackTransaction Method
+     * @throws Exception
+     */
+    public void rollbackTransaction() throws Exception {
+        if (!_txOpen) throw new Exception("No transaction opened");
+        endTransaction();
+    }
+
+    private void endTransaction() throws Exception {
+        _txOpen = false;
+        try {
+            _db.endTransaction();
+        } catch (Exception e) {
+            throw new Exception("Failed in endTransaction " + e.getMessage());
+        } finally {
+            // the schema changed by the transaction is either
+            // committed or rolled back
+            _catalog.invalidate();
+            _executor.setPinned(false);
+            notifyWatchers();
+            // the writes grouped meanwhile were held back
+            _groupCommit.resume();
+        }
+    }
+
+    private void touchTransaction() {
+        if (_txOpen) _txLastUse = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * ScheduleWatchdog Method
+     * Roll back the transaction when no call used it
+     * during timeout ms, the check runs on the connection
+     * executor as the thread owning the transaction
+     * @param txId
+     * @param delay
+     */
+    private synchronized void scheduleWatchdog(final int txId, long delay) {
+        if (_txTimeout <= 0) return;
+        if (_txWatchdog == null) _txWatchdog = Executors.newSingleThreadScheduledExecutor();
+        _txWatchdog.schedule(
+            new Runnable() {
+                @Override
+                public void run() {
+                    _executor.execute(
+                        leased(
+                            new Runnable() {
+                                @Override
+                                public void run() {
+                                    if (!_txOpen || _txId != txId) return;
+                                    long idle = SystemClock.elapsedRealtime() - _txLastUse;
+                                    if (idle < _txTimeout) {
+                                        scheduleWatchdog(txId, _txTimeout - idle);
+                                        return;
+                                    }
+                                    Log.w(TAG, "Transaction on " + _dbName + " idle for " + idle + " ms, rolled back");
+                                    try {
+                                        endTransaction();
+                                    } catch (Exception e) {
+                                        Log.e(TAG, "Error: watchdog rollback failed: " + e.getMessage());
+                                    }
+                                }
+                            }
+                        )
+                    );
+                }
+            },
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
     /**
      * RunSQL Method
      * @param statement a raw SQL statement
      * @param values Array of Strings to bind to the statement
      * @return
      */
-    public JSObject runSQL(String statement, ArrayList<Object> values, Boolean... others) throws Exception {
-        Boolean transaction = others.length == 1 ? others[0] : true;
+    public JSObject runSQL(final String statement, final ArrayList<Object> values, final Boolean... others) throws Exception {
+        // a single statement outside a transaction leaves nothing when failing
+        return _busyRetry.run(
+            _db != null && !_db.inTransaction(),
+            new Callable<JSObject>() {
+                @Override
+                public JSObject call() throws Exception {
+                    return runSQLOnce(statement, values, others);
+                }
+            }
+        );
+    }
+
+    private JSObject runSQLOnce(String statement, ArrayList<Object> values, Boolean... others) throws Exception {
+        // a call joins the transaction opened by beginTransaction
+        Boolean transaction = (others.length == 1 ? others[0] : true) && !_txOpen;
+        touchTransaction();
         JSObject retObj = new JSObject();
         long lastId = Long.valueOf(-1);
         int changes = Integer.valueOf(-1);
         try {
             if (_db != null && _db.isOpen() && statement.length() > 0) {
-                Integer initChanges = _uSqlite.dbChanges(_db);
                 if (transaction) _db.beginTransaction();
+                _watchers.onWrite(statement);
                 lastId = prepareSQL(statement, values);
                 if (lastId != -1 && transaction) _db.setTransactionSuccessful();
-                changes = _uSqlite.dbChanges(_db) - initChanges;
+                changes = _lastChanges;
                 retObj.put("changes", changes);
                 retObj.put("lastId", lastId);
                 return retObj;
@@ -395,12 +842,102 @@ public class Database {
                 throw new Exception("Database not opened");
             }
         } catch (Exception e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
         } finally {
             if (_db != null && transaction && _db.inTransaction()) _db.endTransaction();
+            notifyWatchers();
         }
     }
 
+    /**
+     * RunGroup Method
+     * Run a group of writes in a single transaction, each in
+     * its own savepoint so a failing write does not undo the others
+     * @param items the writes, their result or error is set on return
+     * @throws Exception if the group could not be committed
+     */
+    public void runGroup(final List<GroupCommit.Item> items) throws Exception {
+        if (_db == null || !_db.isOpen()) throw new Exception("Database not opened");
+        _busyRetry.run(
+            !_db.inTransaction(),
+            new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    runGroupOnce(items);
+                    return null;
+                }
+            }
+        );
+    }
+
+    private void runGroupOnce(List<GroupCommit.Item> items) throws Exception {
+        // a group is resolved on its own commit, a rollback of the
+        // transaction opened by beginTransaction must not undo it
+        if (_txOpen) throw new Exception("Failed in group commit: a transaction is opened");
+        try {
+            _db.beginTransactionNonExclusive();
+            for (GroupCommit.Item item : items) {
+                item.result = null;
+                item.error = null;
+                _db.execSQL("SAVEPOINT group_commit;");
+                try {
+                    item.result = runSQL(item.statement, item.values, false);
+                    _db.execSQL("RELEASE group_commit;");
+                } catch (Exception e) {
+                    _db.execSQL("ROLLBACK TO group_commit;");
+                    _db.execSQL("RELEASE group_commit;");
+                    item.error = e.getMessage();
+                }
+            }
+            _db.setTransactionSuccessful();
+        } catch (Exception e) {
+            throw new Exception("Failed in group commit " + e.getMessage(), e);
+        } finally {
+            try {
+                if (_db.inTransaction()) _db.endTransaction();
+            } finally {
+                notifyWatchers();
+            }
+        }
+    }
+
+    /**
+     * GetGroupCommit Method
+     * @return the group commit of the run calls
+     */
+    public GroupCommit getGroupCommit() {
+        return _groupCommit;
+    }
+
+    /**
+     * NotifyWatchers Method
+     * Re-run the watched queries once the writes are committed
+     */
+    private void notifyWatchers() {
+        if (_db != null && _db.isOpen() && !_db.inTransaction()) _watchers.onCommit();
+    }
+
+    /**
+     * WatchQuery Method
+     * @param statement
+     * @param values
+     * @param key
+     * @param debounce
+     * @return {watchId, values}
+     */
+    public JSObject watchQuery(String statement, ArrayList<Object> values, String key, long debounce) throws Exception {
+        return _watchers.watch(statement, values, key, debounce);
+    }
+
+    /**
+     * UnwatchQuery Method
+     * @param watchId
+     * @return
+     */
+    public boolean unwatchQuery(int watchId) {
+        return _watchers.unwatch(watchId);
+    }
+
     /**
      * PrepareSQL Method
      * @param statement
@@ -408,41 +945,241 @@ public class Database {
      * @return
      */
     public long prepareSQL(String statement, ArrayList<Object> values) throws Exception {
-        String stmtType = statement.replaceAll("\n", "").trim().substring(0, 6).toUpperCase();
+        String stmtType = _uSqlite.getStatementType(statement);
         SupportSQLiteStatement stmt = null;
+        _lastChanges = 0;
+        long start = System.nanoTime();
         try {
-            stmt = _db.compileStatement(statement);
-            if (values != null && values.size() > 0) {
-                Object[] valObj = new Object[values.size()];
-                for (int i = 0; i < values.size(); i++) {
-                    if (values.get(i) == null) {
-                        valObj[i] = null;
-                        //                    } else if (values.get(i).equals("NULL")) {
-                        //                        valObj[i] = null;
-                    } else if (JSONObject.NULL == values.get(i)) {
-                        valObj[i] = null;
-                    } else {
-                        valObj[i] = values.get(i);
-                    }
-                }
-                SimpleSQLiteQuery.bind(stmt, valObj);
-            }
+            stmt = _stmtCache.acquire(_db, statement);
+            int changes = executeStatement(stmt, values);
+            _lastChanges = isWriteStatement(stmtType) ? changes : 0;
+            if (isSchemaStatement(stmtType)) _catalog.invalidate();
+            _slowLog.record(_db, statement, start, _lastChanges);
             if (stmtType.equals("INSERT")) {
-                return stmt.executeInsert();
+                return changes > 0 ? getLastInsertRowId() : Long.valueOf(-1);
             } else {
-                return Long.valueOf(stmt.executeUpdateDelete());
+                return Long.valueOf(changes);
             }
         } catch (IllegalStateException e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
         } catch (IllegalArgumentException e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
         } catch (Exception e) {
-            throw new Exception(e.getMessage());
+            throw new Exception(e.getMessage(), e);
+        } finally {
+            _stmtCache.release(stmt);
+        }
+    }
+
+    /**
+     * PrepareSQLBulk Method
+     * Compile a statement once and execute it for each
+     * array of values
+     * @param statement
+     * @param valuesSet Array of JSONArray values
+     * @return the lastId of the last execution, -1 if one failed
+     */
+    public long prepareSQLBulk(String statement, ArrayList<Object> valuesSet) throws Exception {
+        String stmtType = _uSqlite.getStatementType(statement);
+        boolean isInsert = stmtType.equals("INSERT");
+        boolean isWrite = isWriteStatement(stmtType);
+        long lastId = Long.valueOf(-1);
+        SupportSQLiteStatement stmt = null;
+        _lastChanges = 0;
+        long start = System.nanoTime();
+        try {
+            stmt = _stmtCache.acquire(_db, statement);
+            ArrayList<Object> vals = new ArrayList<>();
+            for (int j = 0; j < valuesSet.size(); j++) {
+                RequestRegistry.checkCancelled();
+                JSONArray valsJson = (JSONArray) valuesSet.get(j);
+                vals.clear();
+                for (int k = 0; k < valsJson.length(); k++) {
+                    vals.add(valsJson.get(k));
+                }
+                int changes = executeStatement(stmt, vals);
+                if (isWrite) _lastChanges += changes;
+                // an INSERT which does not insert a row fails as executeInsert would
+                if (isInsert && changes == 0) return Long.valueOf(-1);
+                lastId = Long.valueOf(changes);
+                stmt.clearBindings();
+            }
+            if (isInsert && _lastChanges > 0) lastId = getLastInsertRowId();
+            _slowLog.record(_db, statement, start, _lastChanges);
+            return lastId;
+        } catch (IllegalStateException e) {
+            throw new Exception(e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new Exception(e.getMessage(), e);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage(), e);
         } finally {
-            if (stmt != null) {
-                stmt.close();
+            _stmtCache.release(stmt);
+        }
+    }
+
+    /**
+     * ExecuteStatement Method
+     * Bind the values to a compiled statement and execute it
+     * @param stmt
+     * @param values
+     * @return the number of rows modified by the statement
+     */
+    public int executeStatement(SupportSQLiteStatement stmt, ArrayList<Object> values) {
+        if (values != null && values.size() > 0) {
+            Object[] valObj = new Object[values.size()];
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) == null) {
+                    valObj[i] = null;
+                    //                    } else if (values.get(i).equals("NULL")) {
+                    //                        valObj[i] = null;
+                } else if (JSONObject.NULL == values.get(i)) {
+                    valObj[i] = null;
+                } else {
+                    valObj[i] = values.get(i);
+                }
             }
+            SimpleSQLiteQuery.bind(stmt, valObj);
         }
+        return stmt.executeUpdateDelete();
+    }
+
+    /**
+     * ExecSQL Method
+     * Execute a single raw statement without binding values
+     * @param cmd
+     * @return the number of rows modified by the statement
+     */
+    public int execSQL(String cmd) {
+        long start = System.nanoTime();
+        String stmtType = _uSqlite.getStatementType(cmd);
+        if (!isWriteStatement(stmtType)) {
+            _db.execSQL(cmd);
+            if (isSchemaStatement(stmtType)) _catalog.invalidate();
+            _lastChanges = 0;
+            _slowLog.record(_db, cmd, start, _lastChanges);
+            return _lastChanges;
+        }
+        SupportSQLiteStatement stmt = _db.compileStatement(cmd);
+        try {
+            _lastChanges = stmt.executeUpdateDelete();
+            _slowLog.record(_db, cmd, start, _lastChanges);
+            return _lastChanges;
+        } finally {
+            stmt.close();
+        }
+    }
+
+    /**
+     * GetLastChanges Method
+     * @return the number of rows modified by the last statement
+     * executed through prepareSQL, prepareSQLBulk or execSQL
+     */
+    public int getLastChanges() {
+        return _lastChanges;
+    }
+
+    /**
+     * GetLastInsertRowId Method
+     * @return the rowid of the last inserted row
+     */
+    private long getLastInsertRowId() {
+        if (_lastIdStmt == null) {
+            _lastIdStmt = _db.compileStatement("SELECT last_insert_rowid();");
+        }
+        return _lastIdStmt.simpleQueryForLong();
+    }
+
+    /**
+     * IsWriteStatement Method
+     * sqlite3_changes is only updated by INSERT, UPDATE and DELETE
+     * statements, for any other statement it still holds
+     * the count of the previous one, a WITH clause is typed
+     * by the statement it prefixes
+     * @param stmtType
+     * @return
+     */
+    private boolean isWriteStatement(String stmtType) {
+        return (
+            stmtType.equals("INSERT") ||
+            stmtType.equals("UPDATE") ||
+            stmtType.equals("DELETE") ||
+            stmtType.equals("REPLAC")
+        );
+    }
+
+    /**
+     * IsSchemaStatement Method
+     * @param stmtType
+     * @return true when the statement changes the schema
+     */
+    private boolean isSchemaStatement(String stmtType) {
+        return stmtType.startsWith("CREATE") || stmtType.startsWith("DROP") || stmtType.startsWith("ALTER");
+    }
+
+    /**
+     * GetBusyRetry Method
+     * @return the lock error policy of the connection
+     */
+    public BusyRetry getBusyRetry() {
+        return _busyRetry;
+    }
+
+    /**
+     * GetMaintenance Method
+     * @return the idle maintenance of the connection
+     */
+    public Maintenance getMaintenance() {
+        return _maintenance;
+    }
+
+    /**
+     * GetLastActivity Method
+     * @return the elapsedRealtime of the last call started on the connection
+     */
+    public long getLastActivity() {
+        return _lastActivity;
+    }
+
+    /**
+     * YieldToInteractive Method
+     * Let the queued interactive calls run, called by the bulk
+     * jobs between tables, never inside a transaction
+     */
+    public void yieldToInteractive() {
+        if (_db != null && _db.isOpen() && !_db.inTransaction()) _executor.yieldToInteractive();
+    }
+
+    /**
+     * GetExecutor Method
+     * @return the serial executor running the calls on the connection
+     */
+    public SerialExecutor getExecutor() {
+        return _executor;
+    }
+
+    /**
+     * GetSchemaCatalog Method
+     * @return the schema catalog of the connection
+     */
+    public SchemaCatalog getSchemaCatalog() {
+        return _catalog;
+    }
+
+    /**
+     * GetSlowQueryLog Method
+     * @return the slow query log of the connection
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return _slowLog;
+    }
+
+    /**
+     * GetStatementCacheStats Method
+     * @return the compiled statement cache size and hit/miss counters
+     */
+    public JSObject getStatementCacheStats() {
+        return _stmtCache.getStats();
     }
 
     /**
@@ -453,45 +1190,344 @@ public class Database {
      * @return
      */
     public JSArray selectSQL(String statement, ArrayList<Object> values) throws Exception {
+        return selectSQL(statement, values, null);
+    }
+
+    /**
+     * SelectSQL Method
+     * @param statement
+     * @param values
+     * @param size when not null, set to the estimated size in bytes of the result
+     * @return
+     */
+    public JSArray selectSQL(String statement, ArrayList<Object> values, long[] size) throws Exception {
         JSArray retArray = new JSArray();
         Cursor c = null;
         if (_db == null) {
             return retArray;
         }
+        long start = System.nanoTime();
+        ReaderPool pool = _readerPool;
+        SupportSQLiteDatabase reader = null;
+        try {
+            RequestRegistry.checkCancelled();
+            reader = acquireReader(pool);
+            SupportSQLiteDatabase db = reader != null ? reader : _db;
+            c = (Cursor) db.query(statement, values.toArray(new Object[0]));
+            RowDecoder decoder = new RowDecoder(c);
+            while (c.moveToNext()) {
+                RequestRegistry.checkCancelled();
+                retArray.put(decoder.getRow());
+            }
+            if (size != null) size[0] = decoder.getDecodedBytes();
+            _slowLog.record(db, statement, start, retArray.length());
+            return retArray;
+        } catch (Exception e) {
+            throw new Exception("in selectSQL cursor " + e.getMessage());
+        } finally {
+            if (c != null) c.close();
+            if (pool != null) pool.release(reader);
+        }
+    }
+
+    public interface RowCallback {
+        void onRow(ArrayList<Object> row) throws Exception;
+    }
+
+    /**
+     * SelectSQLRows Method
+     * Query a raw sql statement with or without binding values
+     * and return each row as a list of values ordered by colNames
+     * @param statement
+     * @param values
+     * @param colNames
+     * @return
+     */
+    public ArrayList<ArrayList<Object>> selectSQLRows(String statement, ArrayList<Object> values, ArrayList<String> colNames)
+        throws Exception {
+        final ArrayList<ArrayList<Object>> retRows = new ArrayList<>();
+        selectSQLRows(
+            statement,
+            values,
+            colNames,
+            new RowCallback() {
+                @Override
+                public void onRow(ArrayList<Object> row) {
+                    retRows.add(row);
+                }
+            }
+        );
+        return retRows;
+    }
+
+    /**
+     * SelectSQLRows Method
+     * Query a raw sql statement and hand each row to the callback
+     * as it is read, the rows are not kept
+     * @param statement
+     * @param values
+     * @param colNames
+     * @param callback
+     */
+    public void selectSQLRows(String statement, ArrayList<Object> values, ArrayList<String> colNames, RowCallback callback)
+        throws Exception {
+        Cursor c = null;
+        if (_db == null) {
+            return;
+        }
         try {
             c = (Cursor) _db.query(statement, values.toArray(new Object[0]));
+            RowDecoder decoder = new RowDecoder(c);
+            int[] indexes = new int[colNames.size()];
+            for (int k = 0; k < colNames.size(); k++) {
+                indexes[k] = decoder.getColumnIndex(colNames.get(k));
+                if (indexes[k] < 0) {
+                    throw new Exception("column " + colNames.get(k) + " not in result");
+                }
+            }
             while (c.moveToNext()) {
-                JSObject row = new JSObject();
-                for (int i = 0; i < c.getColumnCount(); i++) {
-                    String colName = c.getColumnName(i);
-                    int type = c.getType(i);
-                    switch (type) {
-                        case FIELD_TYPE_STRING:
-                            row.put(colName, c.getString(c.getColumnIndex(colName)));
-                            break;
-                        case FIELD_TYPE_INTEGER:
-                            row.put(colName, c.getLong(c.getColumnIndex(colName)));
-                            break;
-                        case FIELD_TYPE_FLOAT:
-                            row.put(colName, c.getDouble(c.getColumnIndex(colName)));
-                            break;
-                        case FIELD_TYPE_BLOB:
-                            row.put(colName, c.getBlob(c.getColumnIndex(colName)));
-                            break;
-                        case FIELD_TYPE_NULL:
-                            row.put(colName, JSONObject.NULL);
-                            break;
-                        default:
-                            break;
+                ArrayList<Object> row = new ArrayList<>(indexes.length);
+                for (int index : indexes) {
+                    row.add(decoder.getValue(index));
+                }
+                callback.onRow(row);
+            }
+        } catch (Exception e) {
+            throw new Exception("in selectSQLRows cursor " + e.getMessage());
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    /**
+     * OpenCursor Method
+     * Query a raw sql statement with or without binding values
+     * and keep the cursor open for paged fetches
+     * In WAL mode, the cursor keeps a read-only handle until
+     * closed when one is spare, otherwise it reads the writer
+     * @param statement
+     * @param values
+     * @return the cursor handle
+     */
+    public int openCursor(String statement, ArrayList<Object> values) throws Exception {
+        ReaderPool pool = _readerPool;
+        SupportSQLiteDatabase reader = null;
+        try {
+            if (pool != null && !_db.inTransaction()) reader = pool.acquireSpare();
+            SupportSQLiteDatabase db = reader != null ? reader : _db;
+            Cursor c = (Cursor) db.query(statement, values.toArray(new Object[0]));
+            return _cursors.register(c, reader != null ? pool : null, reader);
+        } catch (Exception e) {
+            if (pool != null) pool.release(reader);
+            throw new Exception("in openCursor " + e.getMessage());
+        }
+    }
+
+    /**
+     * FetchCursor Method
+     * Return the next rows of an opened cursor,
+     * the cursor is closed when it is exhausted
+     * @param handle
+     * @param count
+     * @return {values, done}
+     */
+    public JSObject fetchCursor(int handle, int count) throws Exception {
+        Cursor c = _cursors.get(handle);
+        JSArray rows = new JSArray();
+        int n = 0;
+        try {
+            RowDecoder decoder = new RowDecoder(c);
+            while (n < count && c.moveToNext()) {
+                rows.put(decoder.getRow());
+                n++;
+            }
+        } catch (Exception e) {
+            _cursors.close(handle);
+            throw new Exception("in fetchCursor " + e.getMessage());
+        }
+        boolean done = n < count;
+        if (done) _cursors.close(handle);
+        JSObject retObj = new JSObject();
+        retObj.put("values", rows);
+        retObj.put("done", done);
+        return retObj;
+    }
+
+    /**
+     * CloseCursor Method
+     * @param handle
+     * @return false if the cursor was already closed
+     */
+    public boolean closeCursor(int handle) {
+        return _cursors.close(handle);
+    }
+
+    /**
+     * ReadBlob Method
+     * Read a chunk of a BLOB (or TEXT) cell
+     * Incremental blob I/O is not exposed by SQLCipher,
+     * the chunk is extracted with substr()
+     * @param table
+     * @param column
+     * @param rowId
+     * @param offset
+     * @param length
+     * @return {data: base64 chunk, size: total size in bytes}
+     */
+    public JSObject readBlob(String table, String column, long rowId, long offset, int length) throws Exception {
+        String col = "CAST(" + _uSqlite.quoteIdentifier(column) + " AS BLOB)";
+        String stmt = new StringBuilder("SELECT substr(")
+            .append(col)
+            .append(", ?, ?), length(")
+            .append(col)
+            .append(") FROM ")
+            .append(_uSqlite.quoteIdentifier(table))
+            .append(" WHERE rowid = ?;")
+            .toString();
+        Cursor c = null;
+        try {
+            c = (Cursor) _db.query(stmt, new Object[] { offset + 1, length, rowId });
+            if (!c.moveToFirst()) {
+                throw new Exception("row " + rowId + " not found");
+            }
+            byte[] chunk = c.isNull(0) ? new byte[0] : c.getBlob(0);
+            long size = c.isNull(1) ? 0 : c.getLong(1);
+            JSObject retObj = new JSObject();
+            retObj.put("data", Base64.encodeToString(chunk, Base64.NO_WRAP));
+            retObj.put("size", size);
+            return retObj;
+        } catch (Exception e) {
+            throw new Exception("in readBlob " + e.getMessage());
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    /**
+     * WriteBlob Method
+     * Write a chunk into a BLOB cell at a given offset,
+     * the offset must not be greater than the current size
+     * (writing at the current size appends)
+     * @param table
+     * @param column
+     * @param rowId
+     * @param offset
+     * @param data
+     * @return the number of changes
+     */
+    public int writeBlob(String table, String column, long rowId, long offset, byte[] data) throws Exception {
+        String quotedTable = _uSqlite.quoteIdentifier(table);
+        String quotedCol = _uSqlite.quoteIdentifier(column);
+        String col = "CAST(ifnull(" + quotedCol + ", x'') AS BLOB)";
+        // || works on the raw bytes as long as the database text encoding is UTF-8
+        String stmt = new StringBuilder("UPDATE ")
+            .append(quotedTable)
+            .append(" SET ")
+            .append(quotedCol)
+            .append(" = CAST(substr(")
+            .append(col)
+            .append(", 1, ?) || ? || substr(")
+            .append(col)
+            .append(", ?) AS BLOB) WHERE rowid = ? AND length(")
+            .append(col)
+            .append(") >= ?;")
+            .toString();
+        SupportSQLiteStatement sStmt = null;
+        try {
+            sStmt = _db.compileStatement(stmt);
+            sStmt.bindLong(1, offset);
+            sStmt.bindBlob(2, data);
+            sStmt.bindLong(3, offset + data.length + 1);
+            sStmt.bindLong(4, rowId);
+            sStmt.bindLong(5, offset);
+            _watchers.onWrite("UPDATE " + quotedTable);
+            int changes = sStmt.executeUpdateDelete();
+            if (changes == 0) {
+                throw new Exception("row " + rowId + " not found or offset " + offset + " beyond the blob size");
+            }
+            _lastChanges = changes;
+            return changes;
+        } catch (Exception e) {
+            throw new Exception("in writeBlob " + e.getMessage());
+        } finally {
+            if (sStmt != null) sStmt.close();
+            notifyWatchers();
+        }
+    }
+
+    /**
+     * SelectSQLColumnar Method
+     * Query a raw sql statement with or without binding values
+     * and return the result as columns, types and rows arrays
+     * @param statement
+     * @param values
+     * @return
+     */
+    public JSObject selectSQLColumnar(String statement, ArrayList<Object> values) throws Exception {
+        return selectSQLColumnar(statement, values, null);
+    }
+
+    /**
+     * SelectSQLColumnar Method
+     * @param statement
+     * @param values
+     * @param size when not null, set to the estimated size in bytes of the result
+     * @return
+     */
+    public JSObject selectSQLColumnar(String statement, ArrayList<Object> values, long[] size) throws Exception {
+        JSObject retObj = new JSObject();
+        JSArray columns = new JSArray();
+        JSArray types = new JSArray();
+        JSArray rows = new JSArray();
+        Cursor c = null;
+        if (_db == null) {
+            retObj.put("columns", columns);
+            retObj.put("types", types);
+            retObj.put("rows", rows);
+            return retObj;
+        }
+        long start = System.nanoTime();
+        ReaderPool pool = _readerPool;
+        SupportSQLiteDatabase reader = null;
+        try {
+            RequestRegistry.checkCancelled();
+            reader = acquireReader(pool);
+            SupportSQLiteDatabase db = reader != null ? reader : _db;
+            c = (Cursor) db.query(statement, values.toArray(new Object[0]));
+            RowDecoder decoder = new RowDecoder(c);
+            int colCount = decoder.getColumnCount();
+            // a column type is the type of its first non null value
+            String[] colTypes = new String[colCount];
+            for (int i = 0; i < colCount; i++) {
+                columns.put(decoder.getColumnNames()[i]);
+                colTypes[i] = "NULL";
+            }
+            while (c.moveToNext()) {
+                RequestRegistry.checkCancelled();
+                JSArray row = new JSArray();
+                for (int i = 0; i < colCount; i++) {
+                    Object value = decoder.getValue(i);
+                    row.put(value);
+                    if (value != JSONObject.NULL && colTypes[i].equals("NULL")) {
+                        colTypes[i] = decoder.getTypeName(i);
                     }
                 }
-                retArray.put(row);
+                rows.put(row);
             }
-            return retArray;
+            if (size != null) size[0] = decoder.getDecodedBytes() + 16L * colCount;
+            _slowLog.record(db, statement, start, rows.length());
+            for (String colType : colTypes) {
+                types.put(colType);
+            }
+            retObj.put("columns", columns);
+            retObj.put("types", types);
+            retObj.put("rows", rows);
+            return retObj;
         } catch (Exception e) {
-            throw new Exception("in selectSQL cursor " + e.getMessage());
+            throw new Exception("in selectSQLColumnar cursor " + e.getMessage());
         } finally {
             if (c != null) c.close();
+            if (pool != null) pool.release(reader);
         }
     }
 
@@ -595,14 +1631,31 @@ public class Database {
      * @return
      */
     public JSObject importFromJson(JsonSQLite jsonSQL) throws Exception {
+        return importFromJson(jsonSQL, false);
+    }
+
+    /**
+     * Import from Json object
+     * @param jsonSQL
+     * @param bulkLoad true to create the indexes and triggers of
+     * a full import once the data loaded
+     * @return
+     * @throws Exception
+     */
+    public JSObject importFromJson(JsonSQLite jsonSQL, boolean bulkLoad) throws Exception {
         JSObject retObj = new JSObject();
         int changes = Integer.valueOf(0);
+        // a partial import may update tables whose indexes exist already
+        boolean deferIndexes = bulkLoad && jsonSQL.getMode().equals("full");
         try {
             if (jsonSQL.getTables().size() > 0) {
                 // create the database schema
-                changes = fromJson.createDatabaseSchema(this, jsonSQL);
+                changes = fromJson.createDatabaseSchema(this, jsonSQL, deferIndexes);
                 if (changes != -1) {
                     changes += fromJson.createDatabaseData(this, jsonSQL);
+                    if (deferIndexes) {
+                        changes += fromJson.createDatabaseIndexes(this, jsonSQL);
+                    }
                 }
             }
             if (jsonSQL.getViews().size() > 0) {
@@ -612,6 +1665,30 @@ public class Database {
             return retObj;
         } catch (Exception e) {
             throw new Exception(e.getMessage());
+        } finally {
+            // the import writes through its own statements
+            _watchers.onWriteAll();
+            notifyWatchers();
+        }
+    }
+
+    /**
+     * Import from Json Stream
+     * @param stream a stream which header has been read
+     * @return
+     * @throws Exception
+     */
+    public JSObject importFromJson(ImportFromJsonStream stream) throws Exception {
+        JSObject retObj = new JSObject();
+        try {
+            int changes = stream.createDatabase(this);
+            retObj.put("changes", changes);
+            return retObj;
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        } finally {
+            _watchers.onWriteAll();
+            notifyWatchers();
         }
     }
 
@@ -649,4 +1726,24 @@ public class Database {
             return retObj;
         }
     }
+
+    /**
+     * Export to JSON Stream
+     * @param mode
+     * @param stream
+     * @return the number of tables, rows and views written
+     * @throws Exception
+     */
+    public JSObject exportToJson(String mode, ExportToJsonStream stream) throws Exception {
+        JsonSQLite inJson = new JsonSQLite();
+        inJson.setDatabase(_dbName);
+        inJson.setVersion(_version);
+        inJson.setEncrypted(_encrypted);
+        inJson.setMode(mode);
+        try {
+            return stream.createExport(this, inJson);
+        } catch (Exception e) {
+            throw new Exception("ExportToJson: " + e.getMessage());
+        }
+    }
 }
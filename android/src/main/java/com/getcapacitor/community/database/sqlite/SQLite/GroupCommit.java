@@ -0,0 +1,200 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class GroupCommit {
+
+    private final Database db;
+    // window in ms, 0 when group commit is disabled
+    private long window = 0;
+    private int maxBatch = 50;
+    private ArrayList<Item> pending = new ArrayList<>();
+    private ScheduledExecutorService scheduler = null;
+    private boolean scheduled = false;
+    private long batches = 0;
+    private long statements = 0;
+    // lock errors of the group being committed
+    private int retries = 0;
+
+    public interface Callback {
+        void onResult(JSObject result, String error);
+    }
+
+    public static class Item {
+
+        final String statement;
+        final ArrayList<Object> values;
+        final Callback callback;
+        JSObject result = null;
+        String error = null;
+
+        Item(String statement, ArrayList<Object> values, Callback callback) {
+            this.statement = statement;
+            this.values = values;
+            this.callback = callback;
+        }
+    }
+
+    public GroupCommit(Database db) {
+        this.db = db;
+    }
+
+    /**
+     * Configure Method
+     * @param window the time in ms a write waits for others, 0 to disable
+     * @param maxBatch the number of writes committing a group at once
+     */
+    public synchronized void configure(long window, int maxBatch) {
+        this.window = Math.max(0, window);
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    public synchronized boolean isEnabled() {
+        return window > 0;
+    }
+
+    /**
+     * Submit Method
+     * Add a write to the next group, the callback is called
+     * once the group is committed
+     * @param statement
+     * @param values
+     * @param callback
+     */
+    public synchronized void submit(String statement, ArrayList<Object> values, Callback callback) {
+        pending.add(new Item(statement, values, callback));
+        if (pending.size() >= maxBatch) {
+            dispatchFlush();
+        } else if (!scheduled) {
+            if (scheduler == null) scheduler = Executors.newSingleThreadScheduledExecutor();
+            scheduled = true;
+            scheduler.schedule(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        dispatchFlush();
+                    }
+                },
+                window,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    /**
+     * GetStats Method
+     * @return the number of groups and of grouped writes
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("window", window);
+        ret.put("maxBatch", maxBatch);
+        ret.put("batches", batches);
+        ret.put("statements", statements);
+        ret.put("pending", pending.size());
+        return ret;
+    }
+
+    /**
+     * FlushNow Method
+     * Commit the pending writes on the calling thread,
+     * called from the connection executor
+     */
+    public void flushNow() {
+        flush();
+    }
+
+    /**
+     * Resume Method
+     * Flush the writes held back by a transaction once it ended
+     */
+    public synchronized void resume() {
+        if (!pending.isEmpty() && !scheduled) {
+            scheduled = true;
+            dispatchFlush();
+        }
+    }
+
+    /**
+     * CloseAll Method
+     * Stop the scheduler and fail the pending writes
+     */
+    public void closeAll() {
+        List<Item> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            scheduled = false;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        for (Item item : batch) {
+            item.callback.onResult(null, "Database closed before the group commit");
+        }
+    }
+
+    private void dispatchFlush() {
+        // the group runs on the connection executor as any other write
+        db.getExecutor().execute(db.leased(flushTask()));
+    }
+
+    private Runnable flushTask() {
+        return new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        };
+    }
+
+    private void flush() {
+        List<Item> batch;
+        synchronized (this) {
+            scheduled = false;
+            // the writes wait for the end of a transaction opened by
+            // beginTransaction, resume flushes them
+            if (pending.isEmpty() || db.isTransactionOpen()) return;
+            batch = pending;
+            pending = new ArrayList<>();
+            batches++;
+            statements += batch.size();
+        }
+        try {
+            db.runGroup(batch);
+            if (retries > 0) db.getBusyRetry().recovered();
+            retries = 0;
+        } catch (Exception e) {
+            long delay = db.getBusyRetry().nextDelay(e, retries);
+            if (delay >= 0) {
+                // the group is queued again, its writes first
+                synchronized (this) {
+                    retries++;
+                    batches--;
+                    statements -= batch.size();
+                    ArrayList<Item> items = new ArrayList<>(batch);
+                    items.addAll(pending);
+                    pending = items;
+                    scheduled = true;
+                }
+                db.getExecutor().executeDelayed(db.leased(flushTask()), delay);
+                return;
+            }
+            retries = 0;
+            // the group was not committed, no write is kept
+            for (Item item : batch) {
+                item.result = null;
+                item.error = e.getMessage();
+            }
+        }
+        for (Item item : batch) {
+            item.callback.onResult(item.result, item.error);
+        }
+    }
+}
@@ -32,6 +32,16 @@ public class ExportToJson {
         NotificationCenter.defaultCenter().postNotification("exportJsonProgress", info);
     }
 
+    public interface TableListener {
+        /**
+         * Called for each exported table
+         * @param table the table without its values
+         * @param query the query of the table values
+         * @throws Exception
+         */
+        void onTable(JsonTable table, String query) throws Exception;
+    }
+
     /**
      * Create Export Json Object from Database (Schema, Data)
      * @param db
@@ -41,44 +51,28 @@ public class ExportToJson {
     public JsonSQLite createExportObject(Database db, JsonSQLite sqlObj) throws Exception {
         JsonSQLite retObj = new JsonSQLite();
         ArrayList<JsonView> views = new ArrayList<>();
-        ArrayList<JsonTable> tables = new ArrayList<>();
+        final ArrayList<JsonTable> tables = new ArrayList<>();
         try {
             // Get Views
-            String stmtV = "SELECT name,sql FROM sqlite_master WHERE ";
-            stmtV += "type = 'view' AND name NOT LIKE 'sqlite_%';";
-            JSArray resViews = db.selectSQL(stmtV, new ArrayList<Object>());
-            if (resViews.length() > 0) {
-                for (int i = 0; i < resViews.length(); i++) {
-                    JSONObject oView = resViews.getJSONObject(i);
-                    JsonView v = new JsonView();
-                    String val = (String) oView.get("sql");
-                    val = val.substring(val.indexOf("AS ") + 3);
-                    v.setName((String) oView.get("name"));
-                    v.setValue(val);
-                    views.add(v);
-                }
-            }
+            views = getViews(db);
             // Get Tables
-            String stmt = "SELECT name,sql FROM sqlite_master WHERE ";
-            stmt += "type = 'table' AND name NOT LIKE 'sqlite_%' AND ";
-            stmt += "name NOT LIKE 'android_%' AND ";
-            stmt += "name NOT LIKE 'sync_table';";
-
-            JSArray resTables = db.selectSQL(stmt, new ArrayList<Object>());
-            if (resTables.length() == 0) {
-                throw new Exception("CreateExportObject: table's names failed");
-            } else {
-                switch (sqlObj.getMode()) {
-                    case "partial":
-                        tables = getTablesPartial(db, resTables);
-                        break;
-                    case "full":
-                        tables = getTablesFull(db, resTables);
-                        break;
-                    default:
-                        throw new Exception("CreateExportObject: expMode " + sqlObj.getMode() + " not defined");
+            exportTables(
+                db,
+                sqlObj.getMode(),
+                new TableListener() {
+                    @Override
+                    public void onTable(JsonTable table, String query) throws Exception {
+                        ArrayList<ArrayList<Object>> values = getValues(db, query, table.getName());
+                        if (values.size() != 0) {
+                            table.setValues(values);
+                        }
+                        if (table.getKeys().size() <= 1) {
+                            throw new Exception("table " + table.getName() + " is not a jsonTable");
+                        }
+                        tables.add(table);
+                    }
                 }
-            }
+            );
         } catch (Exception e) {
             throw new Exception("CreateExportObject: " + e.getMessage());
         } finally {
@@ -96,19 +90,76 @@ public class ExportToJson {
         }
     }
 
+    /**
+     * Get Views
+     * @param db
+     * @return
+     * @throws Exception
+     */
+    public ArrayList<JsonView> getViews(Database db) throws Exception {
+        ArrayList<JsonView> views = new ArrayList<>();
+        String stmtV = "SELECT name,sql FROM sqlite_master WHERE ";
+        stmtV += "type = 'view' AND name NOT LIKE 'sqlite_%';";
+        JSArray resViews = db.selectSQL(stmtV, new ArrayList<Object>());
+        if (resViews.length() > 0) {
+            for (int i = 0; i < resViews.length(); i++) {
+                JSONObject oView = resViews.getJSONObject(i);
+                JsonView v = new JsonView();
+                String val = (String) oView.get("sql");
+                val = val.substring(val.indexOf("AS ") + 3);
+                v.setName((String) oView.get("name"));
+                v.setValue(val);
+                views.add(v);
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Export Tables
+     * Hand each table of the export to the listener
+     * @param db
+     * @param mode "full" or "partial"
+     * @param listener
+     * @throws Exception
+     */
+    public void exportTables(Database db, String mode, TableListener listener) throws Exception {
+        String stmt = "SELECT name,sql FROM sqlite_master WHERE ";
+        stmt += "type = 'table' AND name NOT LIKE 'sqlite_%' AND ";
+        stmt += "name NOT LIKE 'android_%' AND ";
+        stmt += "name NOT LIKE 'sync_table';";
+
+        JSArray resTables = db.selectSQL(stmt, new ArrayList<Object>());
+        if (resTables.length() == 0) {
+            throw new Exception("CreateExportObject: table's names failed");
+        } else {
+            switch (mode) {
+                case "partial":
+                    getTablesPartial(db, resTables, listener);
+                    break;
+                case "full":
+                    getTablesFull(db, resTables, listener);
+                    break;
+                default:
+                    throw new Exception("CreateExportObject: expMode " + mode + " not defined");
+            }
+        }
+    }
+
     /**
      * get Tables when Mode is Full
      * @param mDb
      * @param resTables
-     * @return
+     * @param listener
      * @throws Exception
      */
-    private ArrayList<JsonTable> getTablesFull(Database mDb, JSArray resTables) throws Exception {
-        ArrayList<JsonTable> tables = new ArrayList<>();
+    private void getTablesFull(Database mDb, JSArray resTables, TableListener listener) throws Exception {
         try {
             // Loop through tables
             List<JSObject> lTables = resTables.toList();
             for (int i = 0; i < lTables.size(); i++) {
+                // let the interactive calls run between tables
+                if (i > 0) mDb.yieldToInteractive();
                 String tableName;
                 String sqlStmt;
                 if (lTables.get(i).has("name")) {
@@ -145,7 +196,6 @@ public class ExportToJson {
 
                 // create Table's Data
                 String query = "SELECT * FROM " + tableName + ";";
-                ArrayList<ArrayList<Object>> values = getValues(mDb, query, tableName);
 
                 table.setName(tableName);
                 if (schema.size() != 0) {
@@ -162,13 +212,7 @@ public class ExportToJson {
                 String msg = "Full: Table ".concat(tableName).concat(" schema export completed");
                 msg += " " + (i + 1) + "/" + lTables.size() + " ...";
                 notifyExportProgressEvent(msg);
-                if (values.size() != 0) {
-                    table.setValues(values);
-                }
-                if (table.getKeys().size() <= 1) {
-                    throw new Exception("GetTablesFull: table " + tableName + " is not a jsonTable");
-                }
-                tables.add(table);
+                listener.onTable(table, query);
                 msg = "Full: Table ".concat(tableName).concat(" data export completed");
                 msg += " " + (i + 1) + "/" + lTables.size() + " ...";
                 notifyExportProgressEvent(msg);
@@ -178,7 +222,6 @@ public class ExportToJson {
         } finally {
             String msg = "Full: Table's export completed";
             notifyExportProgressEvent(msg);
-            return tables;
         }
     }
 
@@ -393,71 +436,19 @@ public class ExportToJson {
      * @throws Exception
      */
     private ArrayList<ArrayList<Object>> getValues(Database mDb, String query, String tableName) throws Exception {
-        ArrayList<ArrayList<Object>> values = new ArrayList<>();
+        final ArrayList<ArrayList<Object>> values = new ArrayList<>();
         try {
-            JSObject tableNamesTypes = uJson.getTableColumnNamesTypes(mDb, tableName);
-            ArrayList<String> rowNames = new ArrayList<>();
-            ArrayList<String> rowTypes = new ArrayList<>();
-            if (tableNamesTypes.has("names")) {
-                rowNames = (ArrayList<String>) tableNamesTypes.get("names");
-            } else {
-                throw new Exception("GetValues: Table " + tableName + " no names");
-            }
-            if (tableNamesTypes.has("types")) {
-                rowTypes = (ArrayList<String>) tableNamesTypes.get("types");
-            } else {
-                throw new Exception("GetValues: Table " + tableName + " no types");
-            }
-            JSArray retValues = mDb.selectSQL(query, new ArrayList<Object>());
-            List<JSObject> lValues = retValues.toList();
-            if (lValues.size() > 0) {
-                for (int j = 0; j < lValues.size(); j++) {
-                    ArrayList<Object> row = new ArrayList<>();
-                    for (int k = 0; k < rowNames.size(); k++) {
-                        String nType = rowTypes.get(k);
-                        String nName = rowNames.get(k);
-
-                        //                       if (nType.equals("INTEGER")) {
-                        if (lValues.get(j).has(nName)) {
-                            Object obj = lValues.get(j).get(nName);
-                            if (obj.toString().equals("null")) {
-                                row.add(JSONObject.NULL);
-                            } else if (obj instanceof Long) {
-                                row.add(lValues.get(j).getLong(nName));
-                            } else if (obj instanceof String) {
-                                row.add(lValues.get(j).getString(nName));
-                            } else if (obj instanceof Double) {
-                                row.add(lValues.get(j).getDouble(nName));
-                            }
-                        } else {
-                            String msg = "GetValues: value is not (string, nsnull," + "int64,double";
-                            throw new Exception("GetValues: " + msg);
-                        }
-                        /*                       } else if (nType.equals("REAL")) {
-                            if (lValues.get(j).has(nName)) {
-                                Object obj = lValues.get(j).get(nName);
-                                if (obj instanceof Double) {
-                                    row.add(lValues.get(j).getDouble(nName));
-                                }
-                                if (obj instanceof String) {
-                                    row.add(lValues.get(j).getString(nName));
-                                }
-                            } else {
-                                row.add(null);
-                            }
-                        } else {
-                            if (lValues.get(j).has(nName)) {
-                                row.add(lValues.get(j).getString(nName));
-                            } else {
-                                row.add(null);
-                            }
-
-                        }
-                    */
+            getValues(
+                mDb,
+                query,
+                tableName,
+                new Database.RowCallback() {
+                    @Override
+                    public void onRow(ArrayList<Object> row) {
+                        values.add(new ArrayList<>(row));
                     }
-                    values.add(row);
                 }
-            }
+            );
         } catch (Exception e) {
             throw new Exception("GetValues: " + e.getMessage());
         } finally {
@@ -465,15 +456,54 @@ public class ExportToJson {
         }
     }
 
+    /**
+     * Get Tables Values
+     * Hand each row to the callback, without holding the table values
+     * @param mDb
+     * @param query
+     * @param tableName
+     * @param callback
+     * @throws Exception
+     */
+    public void getValues(Database mDb, String query, String tableName, Database.RowCallback callback) throws Exception {
+        JSObject tableNamesTypes = uJson.getTableColumnNamesTypes(mDb, tableName);
+        ArrayList<String> rowNames = new ArrayList<>();
+        if (tableNamesTypes.has("names")) {
+            rowNames = (ArrayList<String>) tableNamesTypes.get("names");
+        } else {
+            throw new Exception("GetValues: Table " + tableName + " no names");
+        }
+        if (!tableNamesTypes.has("types")) {
+            throw new Exception("GetValues: Table " + tableName + " no types");
+        }
+        final ArrayList<Object> row = new ArrayList<>();
+        mDb.selectSQLRows(
+            query,
+            new ArrayList<Object>(),
+            rowNames,
+            new Database.RowCallback() {
+                @Override
+                public void onRow(ArrayList<Object> rowValues) throws Exception {
+                    row.clear();
+                    for (Object obj : rowValues) {
+                        if (obj == JSONObject.NULL || obj instanceof Long || obj instanceof String || obj instanceof Double) {
+                            row.add(obj);
+                        }
+                    }
+                    callback.onRow(row);
+                }
+            }
+        );
+    }
+
     /**
      * Get Tables when Mode is Partial
      * @param mDb
      * @param resTables
-     * @return
+     * @param listener
      * @throws Exception
      */
-    private ArrayList<JsonTable> getTablesPartial(Database mDb, JSArray resTables) throws Exception {
-        ArrayList<JsonTable> tables = new ArrayList<>();
+    private void getTablesPartial(Database mDb, JSArray resTables, TableListener listener) throws Exception {
         long syncDate = 0;
         JSObject modTables = new JSObject();
         ArrayList<String> modTablesKeys = new ArrayList<>();
@@ -496,6 +526,8 @@ public class ExportToJson {
             // Loop trough tables
             List<JSObject> lTables = resTables.toList();
             for (int i = 0; i < lTables.size(); i++) {
+                // let the interactive calls run between tables
+                if (i > 0) mDb.yieldToInteractive();
                 String tableName;
                 String sqlStmt;
                 if (lTables.get(i).has("name")) {
@@ -546,7 +578,6 @@ public class ExportToJson {
                 } else {
                     query = "SELECT * FROM " + tableName + " WHERE last_modified > " + syncDate + ";";
                 }
-                ArrayList<ArrayList<Object>> values = getValues(mDb, query, tableName);
 
                 // check the table object validity
                 table.setName(tableName);
@@ -562,14 +593,7 @@ public class ExportToJson {
                 String msg = "Partial: Table ".concat(tableName).concat(" schema export completed");
                 msg += " " + (i + 1) + "/" + lTables.size() + " ...";
                 notifyExportProgressEvent(msg);
-
-                if (values.size() != 0) {
-                    table.setValues(values);
-                }
-                if (table.getKeys().size() <= 1) {
-                    throw new Exception("GetTablesPartial: table " + tableName + " is not a jsonTable");
-                }
-                tables.add(table);
+                listener.onTable(table, query);
                 msg = "Partial: Table ".concat(tableName).concat(" data export completed");
                 msg += " " + (i + 1) + "/" + lTables.size() + " ...";
                 notifyExportProgressEvent(msg);
@@ -579,7 +603,6 @@ public class ExportToJson {
         } finally {
             String msg = "Partial: Table's export completed";
             notifyExportProgressEvent(msg);
-            return tables;
         }
     }
 
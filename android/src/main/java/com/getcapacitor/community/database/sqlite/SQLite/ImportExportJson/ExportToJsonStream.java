@@ -0,0 +1,155 @@
+package com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson;
+
+import android.util.JsonWriter;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class ExportToJsonStream {
+
+    private final JsonWriter writer;
+    private final ExportToJson _toJson = new ExportToJson();
+    private int tables = 0;
+    private long rows = 0;
+
+    public ExportToJsonStream(Writer out) {
+        this.writer = new JsonWriter(out);
+    }
+
+    /**
+     * CreateExport Method
+     * Write the export table by table, each row is written once read
+     * @param mDb
+     * @param sqlObj the database, version, encrypted and mode
+     * @return the number of tables, rows and views written
+     * @throws Exception
+     */
+    public JSObject createExport(Database mDb, JsonSQLite sqlObj) throws Exception {
+        ArrayList<JsonView> views = _toJson.getViews(mDb);
+        // the header comes first, the import opens the database from it
+        writer.beginObject();
+        writer.name("database").value(sqlObj.getDatabase());
+        writer.name("version").value(sqlObj.getVersion());
+        writer.name("encrypted").value(sqlObj.getEncrypted());
+        writer.name("mode").value(sqlObj.getMode());
+        writer.name("tables").beginArray();
+        _toJson.exportTables(
+            mDb,
+            sqlObj.getMode(),
+            new ExportToJson.TableListener() {
+                @Override
+                public void onTable(JsonTable table, String query) throws Exception {
+                    writeTable(mDb, table, query);
+                }
+            }
+        );
+        writer.endArray();
+        if (views.size() > 0) {
+            writer.name("views").beginArray();
+            for (JsonView view : views) {
+                writeValue(view.getViewAsJSObject());
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+        writer.flush();
+        JSObject retObj = new JSObject();
+        retObj.put("tables", tables);
+        retObj.put("rows", rows);
+        retObj.put("views", views.size());
+        return retObj;
+    }
+
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {}
+    }
+
+    private void writeTable(Database mDb, JsonTable table, String query) throws Exception {
+        writer.beginObject();
+        writer.name("name").value(table.getName());
+        if (table.getSchema().size() > 0) {
+            writer.name("schema").beginArray();
+            for (JsonColumn column : table.getSchema()) {
+                writeValue(column.getColumnAsJSObject());
+            }
+            writer.endArray();
+        }
+        if (table.getIndexes().size() > 0) {
+            writer.name("indexes").beginArray();
+            for (JsonIndex index : table.getIndexes()) {
+                writeValue(index.getIndexAsJSObject());
+            }
+            writer.endArray();
+        }
+        if (table.getTriggers().size() > 0) {
+            writer.name("triggers").beginArray();
+            for (JsonTrigger trigger : table.getTriggers()) {
+                writeValue(trigger.getTriggerAsJSObject());
+            }
+            writer.endArray();
+        }
+        // the values are written last, the import creates the schema first
+        final boolean[] isValues = { false };
+        _toJson.getValues(
+            mDb,
+            query,
+            table.getName(),
+            new Database.RowCallback() {
+                @Override
+                public void onRow(ArrayList<Object> row) throws Exception {
+                    if (!isValues[0]) {
+                        writer.name("values").beginArray();
+                        isValues[0] = true;
+                    }
+                    writer.beginArray();
+                    for (Object val : row) {
+                        writeValue(val);
+                    }
+                    writer.endArray();
+                    rows++;
+                }
+            }
+        );
+        if (isValues[0]) writer.endArray();
+        writer.endObject();
+        tables++;
+    }
+
+    private void writeValue(Object val) throws Exception {
+        if (val == null || val == JSONObject.NULL) {
+            writer.nullValue();
+        } else if (val instanceof String) {
+            writer.value((String) val);
+        } else if (val instanceof Boolean) {
+            writer.value((Boolean) val);
+        } else if (val instanceof Number) {
+            writer.value((Number) val);
+        } else if (val instanceof JSONObject) {
+            JSONObject obj = (JSONObject) val;
+            writer.beginObject();
+            Iterator<String> keys = obj.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                writer.name(key);
+                writeValue(obj.get(key));
+            }
+            writer.endObject();
+        } else if (val instanceof JSONArray) {
+            JSONArray arr = (JSONArray) val;
+            writer.beginArray();
+            for (int i = 0; i < arr.length(); i++) {
+                writeValue(arr.get(i));
+            }
+            writer.endArray();
+        } else {
+            writer.value(val.toString());
+        }
+    }
+}
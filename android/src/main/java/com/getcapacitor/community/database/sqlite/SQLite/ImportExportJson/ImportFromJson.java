@@ -41,6 +41,18 @@ public class ImportFromJson {
      * @return
      */
     public Integer createDatabaseSchema(Database db, JsonSQLite jsonSQL) throws Exception {
+        return createDatabaseSchema(db, jsonSQL, false);
+    }
+
+    /**
+     * Create the database schema for import from Json
+     * @param db
+     * @param jsonSQL
+     * @param bulkLoad true to create the tables only, the indexes and
+     * triggers are created by createDatabaseIndexes once the data loaded
+     * @return
+     */
+    public Integer createDatabaseSchema(Database db, JsonSQLite jsonSQL, boolean bulkLoad) throws Exception {
         int changes = Integer.valueOf(-1);
         Integer version = jsonSQL.getVersion();
 
@@ -65,7 +77,7 @@ public class ImportFromJson {
             }
         }
         try {
-            changes = createSchema(db, jsonSQL);
+            changes = createSchema(db, jsonSQL, bulkLoad);
             notifyImportProgressEvent("Schema creation completed changes: " + changes);
             return changes;
         } catch (Exception e) {
@@ -81,20 +93,19 @@ public class ImportFromJson {
      * @return
      * @throws Exception
      */
-    private Integer createSchema(Database mDb, JsonSQLite jsonSQL) throws Exception {
+    private Integer createSchema(Database mDb, JsonSQLite jsonSQL, boolean bulkLoad) throws Exception {
         int changes = Integer.valueOf(-1);
         SupportSQLiteDatabase db = mDb.getDb();
         try {
             if (mDb != null && mDb.isOpen() && jsonSQL != null) {
                 db.beginTransaction();
                 // Create a Schema Statement
-                ArrayList<String> statements = createSchemaStatement(jsonSQL);
+                ArrayList<String> statements = createSchemaStatement(jsonSQL, bulkLoad);
                 if (statements.size() > 0) {
-                    Integer initChanges = _uSqlite.dbChanges(db);
+                    changes = Integer.valueOf(0);
                     for (String cmd : statements) {
-                        db.execSQL(cmd);
+                        changes += mDb.execSQL(cmd);
                     }
-                    changes = _uSqlite.dbChanges(db) - initChanges;
                     if (changes >= 0) {
                         db.setTransactionSuccessful();
                     }
@@ -124,38 +135,98 @@ public class ImportFromJson {
      * @return
      * @throws Exception
      */
-    private ArrayList<String> createSchemaStatement(JsonSQLite jsonSQL) {
+    private ArrayList<String> createSchemaStatement(JsonSQLite jsonSQL, boolean bulkLoad) {
         ArrayList<String> statements = new ArrayList<>();
-        String mode = jsonSQL.getMode();
         // Loop through Tables
         for (int i = 0; i < jsonSQL.getTables().size(); i++) {
-            String tableName = jsonSQL.getTables().get(i).getName();
-            if (jsonSQL.getTables().get(i).getSchema().size() > 0) {
-                ArrayList<JsonColumn> mSchema = jsonSQL.getTables().get(i).getSchema();
-                // create table schema
-                if (mSchema.size() > 0) {
-                    ArrayList<String> stmt = createTableSchema(mSchema, tableName);
-                    statements.addAll(stmt);
-                }
-            }
-            if (jsonSQL.getTables().get(i).getIndexes().size() > 0) {
-                ArrayList<JsonIndex> mIndexes = jsonSQL.getTables().get(i).getIndexes();
-                // create table indexes
-                if (mIndexes.size() > 0) {
-                    ArrayList<String> stmt = createTableIndexes(mIndexes, tableName);
-                    statements.addAll(stmt);
-                }
-            }
-            if (jsonSQL.getTables().get(i).getTriggers().size() > 0) {
-                ArrayList<JsonTrigger> mTriggers = jsonSQL.getTables().get(i).getTriggers();
-                // create table triggers
-                if (mTriggers.size() > 0) {
-                    ArrayList<String> stmt = createTableTriggers(mTriggers, tableName);
-                    statements.addAll(stmt);
+            JsonTable table = jsonSQL.getTables().get(i);
+            statements.addAll(bulkLoad ? createTableSchemaStatements(table) : createTableStatements(table));
+        }
+        return statements;
+    }
+
+    /**
+     * Create the schema, indexes and triggers statements of a table
+     * @param table
+     * @return
+     */
+    public ArrayList<String> createTableStatements(JsonTable table) {
+        ArrayList<String> statements = createTableSchemaStatements(table);
+        statements.addAll(createTableIndexStatements(table));
+        return statements;
+    }
+
+    /**
+     * Create the schema statements of a table
+     * @param table
+     * @return
+     */
+    public ArrayList<String> createTableSchemaStatements(JsonTable table) {
+        ArrayList<String> statements = new ArrayList<>();
+        String tableName = table.getName();
+        if (table.getSchema().size() > 0) {
+            ArrayList<JsonColumn> mSchema = table.getSchema();
+            // create table schema
+            ArrayList<String> stmt = createTableSchema(mSchema, tableName);
+            statements.addAll(stmt);
+        }
+        return statements;
+    }
+
+    /**
+     * Create the indexes and triggers statements of a table
+     * @param table
+     * @return
+     */
+    public ArrayList<String> createTableIndexStatements(JsonTable table) {
+        ArrayList<String> statements = new ArrayList<>();
+        String tableName = table.getName();
+        if (table.getIndexes().size() > 0) {
+            ArrayList<JsonIndex> mIndexes = table.getIndexes();
+            // create table indexes
+            ArrayList<String> stmt = createTableIndexes(mIndexes, tableName);
+            statements.addAll(stmt);
+        }
+        if (table.getTriggers().size() > 0) {
+            ArrayList<JsonTrigger> mTriggers = table.getTriggers();
+            // create table triggers
+            ArrayList<String> stmt = createTableTriggers(mTriggers, tableName);
+            statements.addAll(stmt);
+        }
+        return statements;
+    }
+
+    /**
+     * Create the database indexes and triggers after a bulk load,
+     * an index built over the loaded rows is cheaper than one
+     * maintained for each inserted row
+     * @param mDb
+     * @param jsonSQL
+     * @return
+     * @throws Exception
+     */
+    public Integer createDatabaseIndexes(Database mDb, JsonSQLite jsonSQL) throws Exception {
+        int changes = Integer.valueOf(0);
+        SupportSQLiteDatabase db = mDb.getDb();
+        try {
+            if (mDb != null && mDb.isOpen() && jsonSQL != null) {
+                db.beginTransaction();
+                for (JsonTable table : jsonSQL.getTables()) {
+                    for (String cmd : createTableIndexStatements(table)) {
+                        changes += mDb.execSQL(cmd);
+                    }
                 }
+                db.setTransactionSuccessful();
+                notifyImportProgressEvent("Indexes and triggers creation completed");
+            } else {
+                throw new Exception("CreateDatabaseIndexes: Database not opened");
             }
+        } catch (Exception e) {
+            throw new Exception("CreateDatabaseIndexes: " + e.getMessage());
+        } finally {
+            if (db != null && db.inTransaction()) db.endTransaction();
         }
-        return statements;
+        return changes;
     }
 
     /**
@@ -305,17 +376,16 @@ public class ImportFromJson {
     public Integer createDatabaseData(Database mDb, JsonSQLite jsonSQL) throws Exception {
         boolean isValues = false;
         int changes = Integer.valueOf(-1);
-        int initChanges = Integer.valueOf(-1);
+        int tableChanges = Integer.valueOf(0);
         SupportSQLiteDatabase db = mDb.getDb();
         try {
             if (mDb != null && mDb.isOpen() && jsonSQL != null) {
-                initChanges = _uSqlite.dbChanges(db);
                 db.beginTransaction();
                 for (int i = 0; i < jsonSQL.getTables().size(); i++) {
                     if (jsonSQL.getTables().get(i).getValues().size() > 0) {
                         isValues = true;
                         try {
-                            createTableData(
+                            tableChanges += createTableData(
                                 mDb,
                                 jsonSQL.getMode(),
                                 jsonSQL.getTables().get(i).getValues(),
@@ -332,7 +402,7 @@ public class ImportFromJson {
                 if (!isValues) {
                     changes = 0;
                 } else {
-                    changes = _uSqlite.dbChanges(db) - initChanges;
+                    changes = tableChanges;
                     if (changes >= 0) {
                         db.setTransactionSuccessful();
                         notifyImportProgressEvent("Tables data creation completed changes: " + changes);
@@ -359,43 +429,61 @@ public class ImportFromJson {
      * @param mode
      * @param values
      * @param tableName
+     * @return the number of rows modified
      * @throws Exception
      */
-    private void createTableData(Database mDb, String mode, ArrayList<ArrayList<Object>> values, String tableName) throws Exception {
-        // Check if table exists
-        boolean isTable = _uJson.isTableExists(mDb, tableName);
-        if (!isTable) {
-            throw new Exception("createTableData: Table " + tableName + "does not exist");
-        }
-        // Get the Column's Name and Type
+    private int createTableData(Database mDb, String mode, ArrayList<ArrayList<Object>> values, String tableName) throws Exception {
+        int changes = Integer.valueOf(0);
+        TableDataLoader loader = null;
         try {
-            JSObject tableNamesTypes = _uJson.getTableColumnNamesTypes(mDb, tableName);
-            if (tableNamesTypes.length() == 0) {
-                throw new Exception("CreateTableData: no column names & types returned");
-            }
-            ArrayList<String> tColNames = (ArrayList<String>) tableNamesTypes.get("names");
-            ArrayList<String> tColTypes = (ArrayList<String>) tableNamesTypes.get("types");
-
+            loader = new TableDataLoader(mDb, this, tableName, mode);
             // Loop on Table's Values
             for (int j = 0; j < values.size(); j++) {
                 // Check the row number of columns
                 ArrayList<Object> row = values.get(j);
                 // Check row validity remove to accept RDBMS types
                 //                _uJson.checkRowValidity(mDb, tColNames, tColTypes, row, j, tableName);
-                // Create INSERT or UPDATE Statements
-                String stmt = createRowStatement(mDb, tColNames, tColTypes, row, j, tableName, mode);
-                // load the values
-                long lastId = mDb.prepareSQL(stmt, row);
-                if (lastId < 0) {
-                    throw new Exception("CreateTableData: lastId < 0");
-                }
+                changes += loader.load(row, j);
             }
-            return;
+            return changes;
         } catch (JSONException e) {
             throw new Exception("CreateTableData: " + e.getMessage());
         } catch (Exception e) {
             throw new Exception("CreateTableData: " + e.getMessage());
+        } finally {
+            if (loader != null) loader.close();
+        }
+    }
+
+    /**
+     * Create a row of table data
+     * @param mDb
+     * @param tColNames
+     * @param tColTypes
+     * @param row
+     * @param j
+     * @param tableName
+     * @param mode
+     * @return the number of rows modified
+     * @throws Exception
+     */
+    public int createRowData(
+        Database mDb,
+        ArrayList<String> tColNames,
+        ArrayList<String> tColTypes,
+        ArrayList<Object> row,
+        int j,
+        String tableName,
+        String mode
+    ) throws Exception {
+        // Create INSERT or UPDATE Statements
+        String stmt = createRowStatement(mDb, tColNames, tColTypes, row, j, tableName, mode);
+        // load the values
+        long lastId = mDb.prepareSQL(stmt, row);
+        if (lastId < 0) {
+            throw new Exception("CreateTableData: lastId < 0");
         }
+        return mDb.getLastChanges();
     }
 
     /**
@@ -480,7 +568,7 @@ public class ImportFromJson {
             if (mDb != null && mDb.isOpen() && views.size() > 0) {
                 db.beginTransaction();
                 // Create Views
-                Integer initChanges = _uSqlite.dbChanges(db);
+                changes = Integer.valueOf(0);
                 for (JsonView view : views) {
                     if (view.getName().length() > 0 && view.getValue().length() > 0) {
                         StringBuilder sBuilder = new StringBuilder("CREATE VIEW IF NOT EXISTS ")
@@ -489,12 +577,11 @@ public class ImportFromJson {
                             .append(view.getValue())
                             .append(" ;");
                         String stmt = sBuilder.toString();
-                        db.execSQL(stmt);
+                        changes += mDb.execSQL(stmt);
                     } else {
                         throw new Exception("CreateViews: no name and value");
                     }
                 }
-                changes = _uSqlite.dbChanges(db) - initChanges;
                 if (changes >= 0) {
                     db.setTransactionSuccessful();
                 }
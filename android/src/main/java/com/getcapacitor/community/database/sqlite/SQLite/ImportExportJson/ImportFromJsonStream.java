@@ -0,0 +1,373 @@
+package com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson;
+
+import android.database.Cursor;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import com.getcapacitor.community.database.sqlite.SQLite.UtilsDrop;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class ImportFromJsonStream {
+
+    private static final String NOT_VALID = "Stringify Json Object not Valid";
+    private final JsonReader reader;
+    private final JsonSQLite header = new JsonSQLite();
+    private final ImportFromJson _fromJson = new ImportFromJson();
+    private final UtilsDrop _uDrop = new UtilsDrop();
+    private final UtilsJson _uJson = new UtilsJson();
+    // first key following the header, "tables" or "views"
+    private String pendingKey = null;
+    private boolean bulkLoad = false;
+    // tables whose indexes and triggers follow the bulk load
+    private final ArrayList<JsonTable> deferred = new ArrayList<>();
+
+    public ImportFromJsonStream(Reader in) {
+        this.reader = new JsonReader(in);
+    }
+
+    public JsonSQLite getHeader() {
+        return header;
+    }
+
+    /**
+     * SetBulkLoad Method
+     * @param bulkLoad true to create the indexes and triggers of
+     * a full import once all the tables are loaded
+     */
+    public void setBulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+    }
+
+    /**
+     * ReadHeader Method
+     * Read the first level keys preceding the tables and views
+     * @return false when version, encrypted or mode do not precede
+     * the tables, the document cannot be imported while parsed
+     * @throws Exception
+     */
+    public boolean readHeader() throws Exception {
+        JSObject jsObj = new JSObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("tables") || key.equals("views")) {
+                pendingKey = key;
+                break;
+            }
+            jsObj.put(key, readValue());
+        }
+        if (jsObj.length() > 0 && !header.isJsonSQLite(jsObj)) {
+            throw new Exception(NOT_VALID);
+        }
+        return jsObj.has("version") && jsObj.has("encrypted") && header.getMode().length() > 0;
+    }
+
+    /**
+     * CreateDatabase Method
+     * Parse the tables row by row, each row is written once parsed
+     * @param mDb the database opened from the header
+     * @return the number of rows modified
+     * @throws Exception
+     */
+    public Integer createDatabase(Database mDb) throws Exception {
+        int changes = Integer.valueOf(0);
+        ArrayList<JsonView> views = new ArrayList<>();
+        String key = pendingKey;
+        while (key != null) {
+            if (key.equals("tables")) {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    changes += createTables(mDb);
+                }
+                reader.endArray();
+            } else if (key.equals("views")) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonView view = new JsonView();
+                    if (!view.isView((JSONObject) readValue())) throw new Exception(NOT_VALID);
+                    views.add(view);
+                }
+                reader.endArray();
+            } else if (key.equals("database")) {
+                // the name given for a file import must match
+                Object database = readValue();
+                if (!(database instanceof String)) throw new Exception(NOT_VALID);
+                if (header.getDatabase().length() > 0 && !header.getDatabase().equals(database)) {
+                    throw new Exception("database " + header.getDatabase() + " does not match the Json Object database " + database);
+                }
+            } else {
+                // the header keys were all read, this one is repeated or unknown
+                throw new Exception(NOT_VALID + ": unexpected " + key + " following the tables");
+            }
+            key = reader.hasNext() ? reader.nextName() : null;
+        }
+        reader.endObject();
+        if (views.size() > 0) {
+            changes += _fromJson.createViews(mDb, views);
+        }
+        return changes;
+    }
+
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {}
+    }
+
+    /**
+     * Create the tables in a single transaction, a failing import
+     * leaves the database as it was
+     * The calls queued on the connection wait for the end of the
+     * import, run meanwhile they would join its transaction
+     * @param mDb
+     * @return
+     * @throws Exception
+     */
+    private int createTables(Database mDb) throws Exception {
+        int changes = Integer.valueOf(0);
+        SupportSQLiteDatabase db = mDb.getDb();
+        boolean full = header.getMode().equals("full");
+        // the foreign keys of a full import are checked once all the
+        // tables are loaded, a child table may come before its parent
+        try {
+            db.setForeignKeyConstraintsEnabled(!full);
+        } catch (IllegalStateException e) {
+            throw new Exception("CreateDatabaseSchema: setForeignKeyConstraintsEnabled failed " + e.getMessage());
+        }
+        try {
+            db.beginTransaction();
+            try {
+                if (full) {
+                    // no VACUUM within the transaction, the freed pages
+                    // are reused by the tables loaded
+                    _uDrop.dropAll(mDb, false);
+                }
+                for (int i = 1; reader.hasNext(); i++) {
+                    changes += createTable(mDb, i);
+                }
+                for (JsonTable table : deferred) {
+                    for (String stmt : _fromJson.createTableIndexStatements(table)) {
+                        changes += mDb.execSQL(stmt);
+                    }
+                }
+                if (deferred.size() > 0) {
+                    _fromJson.notifyImportProgressEvent("Indexes and triggers creation completed");
+                }
+                if (full) {
+                    checkForeignKeys(db);
+                }
+                db.setVersion(header.getVersion());
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            _fromJson.notifyImportProgressEvent("Tables data creation completed changes: " + changes);
+            return changes;
+        } catch (Exception e) {
+            throw new Exception("CreateDatabaseData: " + e.getMessage());
+        } finally {
+            if (full) db.setForeignKeyConstraintsEnabled(true);
+        }
+    }
+
+    /**
+     * Create a table, its values are loaded while parsed once its
+     * name and schema are known, otherwise they are held until the
+     * end of the table object
+     * @param mDb
+     * @param i the table position
+     * @return
+     * @throws Exception
+     */
+    private int createTable(Database mDb, int i) throws Exception {
+        int changes = Integer.valueOf(0);
+        JSONObject tableObj = new JSONObject();
+        JsonTable table = null;
+        boolean isSchema = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("values") && table == null && isSchemaKnown(mDb, tableObj)) {
+                table = createTableSchema(mDb, tableObj);
+                changes += createTableData(mDb, table);
+            } else {
+                tableObj.put(key, readValue());
+                isSchema = table != null;
+            }
+        }
+        reader.endObject();
+        if (table == null) {
+            Object values = tableObj.remove("values");
+            table = createTableSchema(mDb, tableObj);
+            if (values != null) {
+                if (!(values instanceof JSONArray)) throw new Exception(NOT_VALID);
+                changes += createTableData(mDb, table, (JSONArray) values);
+            }
+        } else if (isSchema) {
+            // the indexes or triggers following the values
+            table = createTableSchema(mDb, tableObj);
+        }
+        String msg = "Table ".concat(table.getName()).concat(" data creation completed");
+        msg += " " + i + " ...";
+        _fromJson.notifyImportProgressEvent(msg);
+        return changes;
+    }
+
+    /**
+     * The schema is known when given before the values, or when
+     * a partial import updates an existing table
+     * @param mDb
+     * @param tableObj the keys preceding the values
+     * @return
+     * @throws Exception
+     */
+    private boolean isSchemaKnown(Database mDb, JSONObject tableObj) throws Exception {
+        if (!tableObj.has("name")) return false;
+        if (tableObj.has("schema")) return true;
+        return header.getMode().equals("partial") && _uJson.isTableExists(mDb, tableObj.getString("name"));
+    }
+
+    private JsonTable createTableSchema(Database mDb, JSONObject tableObj) throws Exception {
+        JsonTable table = new JsonTable();
+        if (!table.isTable(tableObj) || table.getName().length() == 0) {
+            throw new Exception(NOT_VALID);
+        }
+        // a partial import may update tables whose indexes exist already
+        boolean defer = bulkLoad && header.getMode().equals("full");
+        // IF NOT EXISTS statements, a part following the values is created again
+        ArrayList<String> statements = defer ? _fromJson.createTableSchemaStatements(table) : _fromJson.createTableStatements(table);
+        for (String stmt : statements) {
+            mDb.execSQL(stmt);
+        }
+        if (defer) {
+            // created again when indexes or triggers follow its values
+            for (int i = 0; i < deferred.size(); i++) {
+                if (deferred.get(i).getName().equals(table.getName())) deferred.remove(i--);
+            }
+            deferred.add(table);
+        }
+        return table;
+    }
+
+    private int createTableData(Database mDb, JsonTable table) throws Exception {
+        int changes = Integer.valueOf(0);
+        int nbColumn = getColumnCount(table);
+        TableDataLoader loader = new TableDataLoader(mDb, _fromJson, table.getName(), header.getMode());
+        try {
+            // only the current row is held in memory
+            ArrayList<Object> row = new ArrayList<>();
+            reader.beginArray();
+            for (int j = 0; reader.hasNext(); j++) {
+                row.clear();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    row.add(readValue());
+                }
+                reader.endArray();
+                if (nbColumn > 0 && row.size() != nbColumn) throw new Exception(NOT_VALID);
+                changes += loader.load(row, j);
+            }
+            reader.endArray();
+            return changes;
+        } finally {
+            loader.close();
+        }
+    }
+
+    private int createTableData(Database mDb, JsonTable table, JSONArray values) throws Exception {
+        int changes = Integer.valueOf(0);
+        int nbColumn = getColumnCount(table);
+        TableDataLoader loader = new TableDataLoader(mDb, _fromJson, table.getName(), header.getMode());
+        try {
+            ArrayList<Object> row = new ArrayList<>();
+            for (int j = 0; j < values.length(); j++) {
+                row.clear();
+                JSONArray arr = values.getJSONArray(j);
+                for (int k = 0; k < arr.length(); k++) {
+                    row.add(arr.get(k));
+                }
+                if (nbColumn > 0 && row.size() != nbColumn) throw new Exception(NOT_VALID);
+                changes += loader.load(row, j);
+            }
+            return changes;
+        } finally {
+            loader.close();
+        }
+    }
+
+    private int getColumnCount(JsonTable table) {
+        int nbColumn = 0;
+        for (JsonColumn column : table.getSchema()) {
+            if (column.getColumn() != null) nbColumn++;
+        }
+        return nbColumn;
+    }
+
+    private void checkForeignKeys(SupportSQLiteDatabase db) throws Exception {
+        Cursor c = null;
+        try {
+            c = db.query("PRAGMA foreign_key_check;");
+            if (c.moveToFirst()) {
+                throw new Exception("FOREIGN KEY constraint failed on table " + c.getString(0));
+            }
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    /**
+     * Read the next value as org.json would parse it
+     * @return
+     * @throws Exception
+     */
+    private Object readValue() throws Exception {
+        JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_ARRAY:
+                JSONArray arr = new JSONArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    arr.put(readValue());
+                }
+                reader.endArray();
+                return arr;
+            case BEGIN_OBJECT:
+                JSONObject obj = new JSONObject();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    obj.put(name, readValue());
+                }
+                reader.endObject();
+                return obj;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return readNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new Exception(NOT_VALID + ": unexpected " + token);
+        }
+    }
+
+    private Object readNumber(String str) {
+        if (str.indexOf('.') < 0 && str.indexOf('e') < 0 && str.indexOf('E') < 0 && !str.equals("-0")) {
+            try {
+                long value = Long.parseLong(str);
+                if (value == (int) value) return Integer.valueOf((int) value);
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {}
+        }
+        return Double.valueOf(str);
+    }
+}
@@ -0,0 +1,143 @@
+package com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson;
+
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import java.util.ArrayList;
+
+public class TableDataLoader {
+
+    private static final String TAG = TableDataLoader.class.getName();
+    private final Database mDb;
+    private final ImportFromJson fromJson;
+    private final String tableName;
+    private final String mode;
+    private final ArrayList<String> tColNames;
+    private final ArrayList<String> tColTypes;
+    private final UtilsJson uJson = new UtilsJson();
+    // compiled once for the table, null when the rows go through createRowData
+    private SupportSQLiteStatement stmt = null;
+
+    /**
+     * TableDataLoader
+     * Load the rows of a table
+     * @param mDb
+     * @param fromJson
+     * @param tableName
+     * @param mode "full" or "partial"
+     * @throws Exception
+     */
+    public TableDataLoader(Database mDb, ImportFromJson fromJson, String tableName, String mode) throws Exception {
+        this.mDb = mDb;
+        this.fromJson = fromJson;
+        this.tableName = tableName;
+        this.mode = mode;
+        // Check if table exists
+        boolean isTable = uJson.isTableExists(mDb, tableName);
+        if (!isTable) {
+            throw new Exception("createTableData: Table " + tableName + "does not exist");
+        }
+        // Get the Column's Name and Type
+        JSObject tableNamesTypes = uJson.getTableColumnNamesTypes(mDb, tableName);
+        if (tableNamesTypes.length() == 0) {
+            throw new Exception("CreateTableData: no column names & types returned");
+        }
+        tColNames = (ArrayList<String>) tableNamesTypes.get("names");
+        tColTypes = (ArrayList<String>) tableNamesTypes.get("types");
+        if (tColNames.size() > 0) {
+            if (mode.equals("full")) {
+                stmt = compileInsert();
+            } else if (mode.equals("partial")) {
+                stmt = compileUpsert();
+            }
+        }
+    }
+
+    /**
+     * Load Method
+     * @param row the values in column order
+     * @param j the row position
+     * @return the number of rows modified
+     * @throws Exception
+     */
+    public int load(ArrayList<Object> row, int j) throws Exception {
+        if (stmt == null) {
+            return fromJson.createRowData(mDb, tColNames, tColTypes, row, j, tableName, mode);
+        }
+        if (tColNames.size() != row.size() || row.size() == 0) {
+            throw new Exception("CreateRowStatement: Table" + tableName + " values row" + j + " not correct length");
+        }
+        try {
+            int changes = mDb.executeStatement(stmt, row);
+            if (changes == 0) {
+                throw new Exception("CreateTableData: lastId < 0");
+            }
+            return changes;
+        } finally {
+            stmt.clearBindings();
+        }
+    }
+
+    public void close() {
+        if (stmt != null) {
+            try {
+                stmt.close();
+            } catch (Exception e) {
+                Log.d(TAG, "Error: close failed: " + e.getMessage());
+            }
+            stmt = null;
+        }
+    }
+
+    /**
+     * Compile the INSERT of a full import, bound to each row
+     * instead of built and compiled again for each one
+     * @return
+     */
+    private SupportSQLiteStatement compileInsert() {
+        String sql = new StringBuilder("INSERT INTO ")
+            .append(tableName)
+            .append("(")
+            .append(uJson.convertToString(tColNames, ','))
+            .append(") VALUES (")
+            .append(uJson.createQuestionMarkString(tColNames.size()))
+            .append(");")
+            .toString();
+        return mDb.getDb().compileStatement(sql);
+    }
+
+    /**
+     * Compile the UPSERT replacing the isIdExists query and the
+     * INSERT or UPDATE statement of each row
+     * @return null when the first column is neither the primary key
+     * nor unique, ON CONFLICT needs one of those constraints
+     */
+    private SupportSQLiteStatement compileUpsert() {
+        String namesString = uJson.convertToString(tColNames, ',');
+        String questionMarkString = uJson.createQuestionMarkString(tColNames.size());
+        StringBuilder sbSet = new StringBuilder();
+        for (int i = 0; i < tColNames.size(); i++) {
+            if (i > 0) sbSet.append(", ");
+            sbSet.append(tColNames.get(i)).append(" = excluded.").append(tColNames.get(i));
+        }
+        String sql = new StringBuilder("INSERT INTO ")
+            .append(tableName)
+            .append("(")
+            .append(namesString)
+            .append(") VALUES (")
+            .append(questionMarkString)
+            .append(") ON CONFLICT (")
+            .append(tColNames.get(0))
+            .append(") DO UPDATE SET ")
+            .append(sbSet)
+            .append(";")
+            .toString();
+        try {
+            return mDb.getDb().compileStatement(sql);
+        } catch (Exception e) {
+            Log.d(TAG, "UPSERT not available for " + tableName + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.getcapacitor.community.database.sqlite.SQLite.ImportExportJson;
 import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.community.database.sqlite.SQLite.Database;
+import com.getcapacitor.community.database.sqlite.SQLite.SchemaCatalog;
 import java.sql.Blob;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -24,15 +25,8 @@ public class UtilsJson {
      * @return
      */
     public boolean isTableExists(Database db, String tableName) throws Exception {
-        boolean ret = false;
-        String query = new StringBuilder("SELECT name FROM " + "sqlite_master WHERE type='table' AND name='")
-            .append(tableName)
-            .append("';")
-            .toString();
         try {
-            JSArray resQuery = db.selectSQL(query, new ArrayList<Object>());
-            if (resQuery.length() > 0) ret = true;
-            return ret;
+            return db.getSchemaCatalog().isTable(tableName);
         } catch (Exception e) {
             throw new Exception("isTableExists: " + e.getMessage());
         }
@@ -45,15 +39,8 @@ public class UtilsJson {
      * @return
      */
     public boolean isViewExists(Database db, String viewName) throws Exception {
-        boolean ret = false;
-        String query = new StringBuilder("SELECT name FROM " + "sqlite_master WHERE type='view' AND name='")
-            .append(viewName)
-            .append("';")
-            .toString();
         try {
-            JSArray resQuery = db.selectSQL(query, new ArrayList<Object>());
-            if (resQuery.length() > 0) ret = true;
-            return ret;
+            return db.getSchemaCatalog().isView(viewName);
         } catch (Exception e) {
             throw new Exception("isViewExists: " + e.getMessage());
         }
@@ -209,15 +196,11 @@ public class UtilsJson {
         JSObject ret = new JSObject();
         ArrayList<String> names = new ArrayList<String>();
         ArrayList<String> types = new ArrayList<String>();
-        String query = new StringBuilder("PRAGMA table_info(").append(tableName).append(");").toString();
         try {
-            JSArray resQuery = mDb.selectSQL(query, new ArrayList<Object>());
-            List<JSObject> lQuery = resQuery.toList();
-            if (lQuery.size() > 0) {
-                for (JSObject obj : lQuery) {
-                    names.add(obj.getString("name"));
-                    types.add(obj.getString("type"));
-                }
+            SchemaCatalog.Columns cols = mDb.getSchemaCatalog().getColumns(tableName);
+            if (cols.names.size() > 0) {
+                names.addAll(cols.names);
+                types.addAll(cols.types);
                 ret.put("names", names);
                 ret.put("types", types);
             }
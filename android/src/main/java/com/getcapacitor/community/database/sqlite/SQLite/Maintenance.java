@@ -0,0 +1,212 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.getcapacitor.JSObject;
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.sqlcipher.Cursor;
+
+public class Maintenance {
+
+    private static final String TAG = Maintenance.class.getName();
+    // rows sampled per index by PRAGMA optimize, as the SQLite documentation advises
+    private static final int ANALYSIS_LIMIT = 400;
+    private final Database db;
+    private final File walFile;
+    private final SharedPreferences prefs;
+    private final String lastAnalyzeKey;
+    private boolean enabled = false;
+    // period of the idle check in ms
+    private long interval = 60000;
+    // time in ms without call before the connection is idle
+    private long idle = 30000;
+    private long walSize = 4 * 1024 * 1024;
+    private long freelistPages = 256;
+    private long analyzeInterval = 24 * 60 * 60 * 1000;
+    private boolean fullAnalyze = false;
+    private ScheduledExecutorService scheduler = null;
+    // wall clock time of the last optimize, kept across the app launches
+    private long lastAnalyze = -1;
+    private long runs = 0;
+    private long checkpoints = 0;
+    private long vacuumedPages = 0;
+    private long optimizes = 0;
+    private JSObject lastReport = null;
+
+    public Maintenance(Database db, File file, SharedPreferences prefs) {
+        this.db = db;
+        this.walFile = new File(file.getAbsolutePath() + "-wal");
+        this.prefs = prefs;
+        this.lastAnalyzeKey = "maintenance_last_analyze_" + file.getName();
+    }
+
+    /**
+     * Configure Method
+     * @param options {interval, idle, walSize, freelistPages, analyzeInterval, fullAnalyze}
+     * null disables the maintenance
+     */
+    public synchronized void configure(JSObject options) {
+        enabled = options != null;
+        if (!enabled) return;
+        interval = Math.max(1000, options.optLong("interval", interval));
+        idle = Math.max(0, options.optLong("idle", idle));
+        walSize = options.optLong("walSize", walSize);
+        freelistPages = options.optLong("freelistPages", freelistPages);
+        analyzeInterval = options.optLong("analyzeInterval", analyzeInterval);
+        fullAnalyze = options.optBoolean("fullAnalyze", fullAnalyze);
+    }
+
+    /**
+     * Start Method
+     * Start the idle checks, called once the database is opened
+     */
+    public synchronized void start() {
+        if (!enabled || scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(
+            new Runnable() {
+                @Override
+                public void run() {
+                    check();
+                }
+            },
+            interval,
+            interval,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Stop Method
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * GetStats Method
+     * @return the maintenance counters and the report of the last run
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("enabled", enabled);
+        ret.put("runs", runs);
+        ret.put("checkpoints", checkpoints);
+        ret.put("vacuumedPages", vacuumedPages);
+        ret.put("optimizes", optimizes);
+        if (lastReport != null) ret.put("lastRun", lastReport);
+        return ret;
+    }
+
+    private void check() {
+        if (!isIdle()) return;
+        // the bulk lane runs after the queued calls, never with a user write
+        db
+            .getExecutor()
+            .executeBulk(
+                db.leased(
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!db.isOpen() || db.isTransactionOpen()) return;
+                            try {
+                                runTasks();
+                            } catch (Exception e) {
+                                Log.e(TAG, "Error: maintenance failed: " + e.getMessage());
+                            }
+                        }
+                    }
+                )
+            );
+    }
+
+    private boolean isIdle() {
+        return (
+            db.isOpen() &&
+            !db.isTransactionOpen() &&
+            db.getExecutor().getQueueSize() == 0 &&
+            SystemClock.elapsedRealtime() - db.getLastActivity() >= idle
+        );
+    }
+
+    private void runTasks() throws Exception {
+        SupportSQLiteDatabase sdb = db.getDb();
+        JSObject report = new JSObject();
+        report.put("timestamp", System.currentTimeMillis());
+        // WAL checkpoint, the readers are idle with the connection
+        if (walFile.exists() && walFile.length() >= walSize) {
+            report.put("walSize", walFile.length());
+            queryLong(sdb, "PRAGMA wal_checkpoint(TRUNCATE);");
+            report.put("checkpoint", true);
+            synchronized (this) {
+                checkpoints++;
+            }
+        }
+        db.yieldToInteractive();
+        // incremental_vacuum is only available with auto_vacuum=INCREMENTAL
+        long freelist = queryLong(sdb, "PRAGMA freelist_count;");
+        report.put("freelistCount", freelist);
+        if (freelist >= freelistPages && queryLong(sdb, "PRAGMA auto_vacuum;") == 2) {
+            queryLong(sdb, "PRAGMA incremental_vacuum(" + freelist + ");");
+            long vacuumed = freelist - queryLong(sdb, "PRAGMA freelist_count;");
+            report.put("vacuumedPages", vacuumed);
+            synchronized (this) {
+                vacuumedPages += vacuumed;
+            }
+        }
+        db.yieldToInteractive();
+        // planner statistics, PRAGMA optimize analyzes only the tables
+        // which may benefit from it, with a bounded sample per index
+        long now = System.currentTimeMillis();
+        long last = getLastAnalyze();
+        if (last <= 0 || now - last >= analyzeInterval || now < last) {
+            if (fullAnalyze) {
+                sdb.execSQL("ANALYZE;");
+                report.put("analyze", true);
+            } else {
+                queryLong(sdb, "PRAGMA analysis_limit = " + ANALYSIS_LIMIT + ";");
+                queryLong(sdb, "PRAGMA optimize;");
+                report.put("optimize", true);
+            }
+            setLastAnalyze(now);
+            synchronized (this) {
+                optimizes++;
+            }
+        }
+        synchronized (this) {
+            runs++;
+            lastReport = report;
+        }
+        Log.v(TAG, "maintenance " + report.toString());
+    }
+
+    private long getLastAnalyze() {
+        if (lastAnalyze < 0) {
+            lastAnalyze = prefs != null ? prefs.getLong(lastAnalyzeKey, 0) : 0;
+        }
+        return lastAnalyze;
+    }
+
+    private void setLastAnalyze(long time) {
+        lastAnalyze = time;
+        if (prefs != null) prefs.edit().putLong(lastAnalyzeKey, time).apply();
+    }
+
+    private long queryLong(SupportSQLiteDatabase sdb, String sql) {
+        Cursor c = null;
+        try {
+            c = (Cursor) sdb.query(sql);
+            return c.moveToFirst() && !c.isNull(0) ? c.getLong(0) : 0;
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+}
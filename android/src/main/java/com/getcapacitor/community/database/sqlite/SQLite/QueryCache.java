@@ -0,0 +1,263 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+public class QueryCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+    private static final long DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+    private final UtilsSQLite _uSqlite = new UtilsSQLite();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // per database schema info, null until loaded
+    private final HashMap<String, Set<String>> views = new HashMap<>();
+    private final HashMap<String, Boolean> hasSideEffects = new HashMap<>();
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long invalidations = 0;
+    // bumped on each invalidation, a read started before it is not cached
+    private long generation = 0;
+
+    private static class Entry {
+
+        final String dbName;
+        // a JSArray of rows, or a JSObject for a columnar query
+        final Object values;
+        // null when the query depends on any table
+        final Set<String> tables;
+        final long size;
+
+        Entry(String dbName, Object values, Set<String> tables, long size) {
+            this.dbName = dbName;
+            this.values = values;
+            this.tables = tables;
+            this.size = size;
+        }
+    }
+
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public QueryCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get Method
+     * @param dbName
+     * @param statement
+     * @param values
+     * @return the cached values or null
+     */
+    public synchronized JSArray get(String dbName, String statement, JSArray values) {
+        return (JSArray) getEntry(getKey(dbName, statement, values, false));
+    }
+
+    /**
+     * GetColumnar Method
+     * @param dbName
+     * @param statement
+     * @param values
+     * @return the cached columnar result or null
+     */
+    public synchronized JSObject getColumnar(String dbName, String statement, JSArray values) {
+        return (JSObject) getEntry(getKey(dbName, statement, values, true));
+    }
+
+    /**
+     * GetGeneration Method
+     * @return the generation to give to put, taken before the read
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Put Method
+     * Cache the result of a read query, unless an invalidation
+     * happened while it was running
+     * @param db
+     * @param dbName
+     * @param statement
+     * @param values
+     * @param result
+     * @param resultSize the size in bytes estimated while decoding the result
+     * @param readGeneration the generation taken before the read
+     */
+    public synchronized void put(
+        Database db,
+        String dbName,
+        String statement,
+        JSArray values,
+        JSArray result,
+        long resultSize,
+        long readGeneration
+    ) throws Exception {
+        putEntry(db, dbName, statement, getKey(dbName, statement, values, false), result, resultSize, readGeneration);
+    }
+
+    /**
+     * PutColumnar Method
+     * Cache the result of a columnar read query
+     * @param db
+     * @param dbName
+     * @param statement
+     * @param values
+     * @param result
+     * @param resultSize the size in bytes estimated while decoding the result
+     * @param readGeneration the generation taken before the read
+     */
+    public synchronized void putColumnar(
+        Database db,
+        String dbName,
+        String statement,
+        JSArray values,
+        JSObject result,
+        long resultSize,
+        long readGeneration
+    ) throws Exception {
+        putEntry(db, dbName, statement, getKey(dbName, statement, values, true), result, resultSize, readGeneration);
+    }
+
+    private Object getEntry(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.values;
+    }
+
+    private void putEntry(Database db, String dbName, String statement, String key, Object result, long resultSize, long readGeneration)
+        throws Exception {
+        if (readGeneration != generation) return;
+        loadSchema(db, dbName);
+        Set<String> tables = _uSqlite.getIdentifiers(statement);
+        for (String view : views.get(dbName)) {
+            if (tables.contains(view)) {
+                // the tables read through a view are unknown
+                tables = null;
+                break;
+            }
+        }
+        long size = 2L * key.length() + resultSize;
+        if (size > maxBytes) return;
+        Entry old = entries.put(key, new Entry(dbName, result, tables, size));
+        if (old != null) bytes -= old.size;
+        bytes += size;
+        // evict the least recently used entries
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            bytes -= it.next().size;
+            it.remove();
+        }
+    }
+
+    /**
+     * InvalidateStatement Method
+     * Invalidate the entries read from the table written by a statement
+     * @param dbName
+     * @param statement
+     */
+    public synchronized void invalidateStatement(String dbName, String statement) {
+        if (statement == null) return;
+        String table = _uSqlite.getWriteTable(statement);
+        if (table != null && table.length() == 0) return;
+        Boolean sideEffects = hasSideEffects.get(dbName);
+        if (table != null && sideEffects != null && !sideEffects) {
+            invalidateTable(dbName, table);
+        } else {
+            // DDL, PRAGMA, triggers or foreign keys may touch any table
+            invalidate(dbName);
+        }
+    }
+
+    /**
+     * InvalidateStatements Method
+     * @param dbName
+     * @param statements
+     */
+    public synchronized void invalidateStatements(String dbName, List<String> statements) {
+        for (String statement : statements) {
+            invalidateStatement(dbName, statement);
+        }
+    }
+
+    /**
+     * InvalidateTable Method
+     * @param dbName
+     * @param table
+     */
+    public synchronized void invalidateTable(String dbName, String table) {
+        generation++;
+        String name = table.toLowerCase();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.dbName.equals(dbName) && (entry.tables == null || entry.tables.contains(name))) {
+                bytes -= entry.size;
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Invalidate Method
+     * Invalidate all the entries and the schema info of a database
+     * @param dbName
+     */
+    public synchronized void invalidate(String dbName) {
+        generation++;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.dbName.equals(dbName)) {
+                bytes -= entry.size;
+                it.remove();
+                invalidations++;
+            }
+        }
+        views.remove(dbName);
+        hasSideEffects.remove(dbName);
+    }
+
+    /**
+     * GetStats Method
+     * @return the cache size and the hit/miss counters
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("entries", entries.size());
+        ret.put("maxEntries", maxEntries);
+        ret.put("bytes", bytes);
+        ret.put("maxBytes", maxBytes);
+        ret.put("hits", hits);
+        ret.put("misses", misses);
+        ret.put("hitRate", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        ret.put("invalidations", invalidations);
+        return ret;
+    }
+
+    private void loadSchema(Database db, String dbName) throws Exception {
+        if (views.containsKey(dbName)) return;
+        views.put(dbName, _uSqlite.getViewNames(db));
+        hasSideEffects.put(dbName, _uSqlite.hasTriggersOrForeignKeys(db));
+    }
+
+    private String getKey(String dbName, String statement, JSArray values, boolean columnar) {
+        String key = dbName + "\u0000" + statement + "\u0000" + (values != null ? values.toString() : "[]");
+        return columnar ? key + "\u0000columnar" : key;
+    }
+}
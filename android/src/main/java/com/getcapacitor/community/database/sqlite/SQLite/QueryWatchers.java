@@ -0,0 +1,346 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.util.Log;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.NotificationCenter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+
+public class QueryWatchers {
+
+    private static final String TAG = QueryWatchers.class.getName();
+    private final Database db;
+    private final String dbName;
+    private final UtilsSQLite _uSqlite = new UtilsSQLite();
+    private final HashMap<Integer, Watch> watches = new HashMap<>();
+    // tables written since the last commit, pendingAll when unknown
+    private final Set<String> pendingTables = new HashSet<>();
+    private boolean pendingAll = false;
+    private ScheduledExecutorService scheduler = null;
+    private boolean scheduled = false;
+    private int nextId = 1;
+
+    private static class Watch {
+
+        final int id;
+        final String statement;
+        final ArrayList<Object> values;
+        final String key;
+        final long debounce;
+        final Set<String> identifiers;
+        // true when the query reads a view or writes may cascade
+        final boolean anyTable;
+        LinkedHashMap<String, JSObject> rows = new LinkedHashMap<>();
+        boolean dirty = false;
+
+        Watch(int id, String statement, ArrayList<Object> values, String key, long debounce, Set<String> identifiers, boolean anyTable) {
+            this.id = id;
+            this.statement = statement;
+            this.values = values;
+            this.key = key;
+            this.debounce = debounce;
+            this.identifiers = identifiers;
+            this.anyTable = anyTable;
+        }
+    }
+
+    public QueryWatchers(Database db, String dbName) {
+        this.db = db;
+        this.dbName = dbName;
+    }
+
+    /**
+     * Watch Method
+     * Register a read query and run it a first time
+     * @param statement
+     * @param values
+     * @param key the column identifying a row, null to compare whole rows
+     * @param debounce delay in ms before re-running after a commit
+     * @return {watchId, values}
+     * @throws Exception
+     */
+    public JSObject watch(String statement, ArrayList<Object> values, String key, long debounce) throws Exception {
+        Set<String> identifiers = _uSqlite.getIdentifiers(statement);
+        boolean anyTable = _uSqlite.hasTriggersOrForeignKeys(db);
+        for (String view : _uSqlite.getViewNames(db)) {
+            if (identifiers.contains(view)) anyTable = true;
+        }
+        // the columns are known even without row, a missing key is rejected
+        JSObject columnar = db.selectSQLColumnar(statement, values);
+        JSArray columns = (JSArray) columnar.get("columns");
+        if (key != null && !columns.toList().contains(key)) {
+            throw new Exception("key " + key + " is not a column of the statement result");
+        }
+        JSArray res = toRows(columns, (JSArray) columnar.get("rows"));
+        Watch watch;
+        synchronized (this) {
+            watch = new Watch(nextId++, statement, values, key, debounce, identifiers, anyTable);
+            watch.rows = toRowMap(res.<JSObject>toList(), key);
+            watches.put(watch.id, watch);
+        }
+        JSObject ret = new JSObject();
+        ret.put("watchId", watch.id);
+        ret.put("values", res);
+        return ret;
+    }
+
+    /**
+     * Unwatch Method
+     * @param watchId
+     * @return false if the watch was not registered
+     */
+    public synchronized boolean unwatch(int watchId) {
+        return watches.remove(watchId) != null;
+    }
+
+    /**
+     * OnWrite Method
+     * Record the table written by a statement
+     * @param statement
+     */
+    public synchronized void onWrite(String statement) {
+        if (watches.isEmpty() || statement == null) return;
+        String table = _uSqlite.getWriteTable(statement);
+        if (table == null) {
+            pendingAll = true;
+        } else if (table.length() > 0) {
+            pendingTables.add(table);
+        }
+    }
+
+    /**
+     * OnWriteAll Method
+     * Record a write of unknown tables, such as an import
+     */
+    public synchronized void onWriteAll() {
+        if (watches.isEmpty()) return;
+        pendingAll = true;
+    }
+
+    /**
+     * OnCommit Method
+     * Schedule a debounced re-run of the watches reading
+     * the tables written since the last commit
+     */
+    public synchronized void onCommit() {
+        if (!pendingAll && pendingTables.isEmpty()) return;
+        long delay = -1;
+        for (Watch watch : watches.values()) {
+            if (watch.dirty || !isAffected(watch)) continue;
+            watch.dirty = true;
+            delay = delay < 0 ? watch.debounce : Math.min(delay, watch.debounce);
+        }
+        pendingAll = false;
+        pendingTables.clear();
+        if (delay < 0 || scheduled) return;
+        if (scheduler == null) scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduled = true;
+        // the refresh runs on the connection executor, after the queued calls
+        scheduler.schedule(
+            new Runnable() {
+                @Override
+                public void run() {
+                    db
+                        .getExecutor()
+                        .execute(
+                            db.leased(
+                                new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        refresh();
+                                    }
+                                }
+                            )
+                        );
+                }
+            },
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * CloseAll Method
+     * Remove all the watches and stop the scheduler
+     */
+    public synchronized void closeAll() {
+        watches.clear();
+        pendingAll = false;
+        pendingTables.clear();
+        scheduled = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private boolean isAffected(Watch watch) {
+        if (pendingAll || watch.anyTable) return true;
+        for (String table : pendingTables) {
+            if (watch.identifiers.contains(table)) return true;
+        }
+        return false;
+    }
+
+    private void refresh() {
+        List<Watch> dirty = new ArrayList<>();
+        synchronized (this) {
+            scheduled = false;
+            for (Watch watch : watches.values()) {
+                if (watch.dirty) {
+                    watch.dirty = false;
+                    dirty.add(watch);
+                }
+            }
+        }
+        for (Watch watch : dirty) {
+            if (!db.isOpen()) return;
+            try {
+                JSArray res = db.selectSQL(watch.statement, watch.values);
+                LinkedHashMap<String, JSObject> rows = toRowMap(res.<JSObject>toList(), watch.key);
+                JSObject diff = getDiff(watch.rows, rows);
+                synchronized (this) {
+                    if (!watches.containsKey(watch.id)) continue;
+                    watch.rows = rows;
+                }
+                if (diff != null) notifyWatch(watch.id, diff);
+            } catch (Exception e) {
+                Log.d(TAG, "watch " + watch.id + " refresh failed: " + e.getMessage());
+                notifyError(watch.id, e.getMessage());
+            }
+        }
+    }
+
+    private JSArray toRows(JSArray columns, JSArray rows) throws Exception {
+        JSArray res = new JSArray();
+        for (int i = 0; i < rows.length(); i++) {
+            JSONArray values = rows.getJSONArray(i);
+            JSObject row = new JSObject();
+            for (int j = 0; j < columns.length(); j++) {
+                row.put(columns.getString(j), values.get(j));
+            }
+            res.put(row);
+        }
+        return res;
+    }
+
+    /**
+     * ToRowMap Method
+     * Index the rows by their key value, or by their values when
+     * no key is given, identical rows then being numbered
+     * @param rows
+     * @param key
+     * @return
+     * @throws Exception when the key is missing or not unique
+     */
+    private LinkedHashMap<String, JSObject> toRowMap(List<JSObject> rows, String key) throws Exception {
+        LinkedHashMap<String, JSObject> map = new LinkedHashMap<>();
+        for (JSObject row : rows) {
+            // the key column may be dropped after the watch was registered
+            if (key != null && !row.has(key)) throw new Exception("key " + key + " is not a column of the statement result");
+            if (key != null) {
+                String rowKey = valueToString(row.opt(key));
+                if (map.containsKey(rowKey)) throw new Exception("key " + key + " is not unique, " + rowKey + " is duplicated");
+                map.put(rowKey, row);
+            } else {
+                String rowKey = rowToString(row);
+                String uniqueKey = rowKey;
+                for (int n = 1; map.containsKey(uniqueKey); n++) {
+                    uniqueKey = rowKey + "#" + n;
+                }
+                map.put(uniqueKey, row);
+            }
+        }
+        return map;
+    }
+
+    private String rowToString(JSObject row) {
+        StringBuilder sb = new StringBuilder();
+        Iterator<String> names = row.keys();
+        while (names.hasNext()) {
+            String name = names.next();
+            sb.append(name).append('=').append(valueToString(row.opt(name))).append('\u0000');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * ValueToString Method
+     * A blob is rendered by its content, its toString is
+     * its identity
+     * @param value
+     * @return
+     */
+    private String valueToString(Object value) {
+        if (value instanceof byte[]) return "blob:" + Arrays.toString((byte[]) value);
+        return value == null ? "null" : value.getClass().getSimpleName() + ":" + value;
+    }
+
+    private boolean sameRow(JSObject oldRow, JSObject newRow) {
+        if (oldRow.length() != newRow.length()) return false;
+        Iterator<String> names = newRow.keys();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!oldRow.has(name) || !sameValue(oldRow.opt(name), newRow.opt(name))) return false;
+        }
+        return true;
+    }
+
+    private boolean sameValue(Object oldValue, Object newValue) {
+        if (oldValue instanceof byte[] && newValue instanceof byte[]) {
+            return Arrays.equals((byte[]) oldValue, (byte[]) newValue);
+        }
+        return oldValue == null ? newValue == null : oldValue.equals(newValue);
+    }
+
+    private JSObject getDiff(Map<String, JSObject> oldRows, Map<String, JSObject> newRows) {
+        JSArray added = new JSArray();
+        JSArray removed = new JSArray();
+        JSArray updated = new JSArray();
+        for (Map.Entry<String, JSObject> entry : newRows.entrySet()) {
+            JSObject oldRow = oldRows.get(entry.getKey());
+            if (oldRow == null) {
+                added.put(entry.getValue());
+            } else if (!sameRow(oldRow, entry.getValue())) {
+                updated.put(entry.getValue());
+            }
+        }
+        for (Map.Entry<String, JSObject> entry : oldRows.entrySet()) {
+            if (!newRows.containsKey(entry.getKey())) removed.put(entry.getValue());
+        }
+        if (added.length() == 0 && removed.length() == 0 && updated.length() == 0) return null;
+        JSObject diff = new JSObject();
+        diff.put("added", added);
+        diff.put("removed", removed);
+        diff.put("updated", updated);
+        return diff;
+    }
+
+    private void notifyWatch(int watchId, JSObject diff) {
+        Map<String, Object> info = new HashMap<>();
+        info.put("database", dbName);
+        info.put("watchId", watchId);
+        info.put("diff", diff);
+        NotificationCenter.defaultCenter().postNotification("watchQuery", info);
+    }
+
+    private void notifyError(int watchId, String message) {
+        Map<String, Object> info = new HashMap<>();
+        info.put("database", dbName);
+        info.put("watchId", watchId);
+        info.put("error", message);
+        NotificationCenter.defaultCenter().postNotification("watchQuery", info);
+    }
+}
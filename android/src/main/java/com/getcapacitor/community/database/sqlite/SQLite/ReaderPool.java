@@ -0,0 +1,118 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.sqlcipher.database.SQLiteDatabase;
+
+public class ReaderPool {
+
+    private static final String TAG = ReaderPool.class.getName();
+    private final ArrayList<SupportSQLiteDatabase> readers = new ArrayList<>();
+    private final ArrayBlockingQueue<SupportSQLiteDatabase> idle;
+    private final ExecutorService executor;
+
+    /**
+     * ReaderPool
+     * Open a pool of read-only handles on a WAL database
+     * @param file the database file
+     * @param password the database key
+     * @param size the number of read-only handles
+     * @throws Exception
+     */
+    public ReaderPool(File file, String password, int size) throws Exception {
+        idle = new ArrayBlockingQueue<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                SupportSQLiteDatabase reader = SQLiteDatabase.openDatabase(
+                    file.getAbsolutePath(),
+                    password,
+                    null,
+                    SQLiteDatabase.OPEN_READONLY
+                );
+                readers.add(reader);
+                idle.offer(reader);
+            }
+        } catch (Exception e) {
+            close();
+            throw new Exception("ReaderPool open failed " + e.getMessage());
+        }
+        executor = Executors.newFixedThreadPool(size);
+    }
+
+    /**
+     * Acquire Method
+     * Check out an idle read-only handle, waiting for one if needed
+     * @return
+     * @throws InterruptedException
+     */
+    public SupportSQLiteDatabase acquire() throws InterruptedException {
+        return idle.take();
+    }
+
+    /**
+     * AcquireSpare Method
+     * Check out an idle handle for a long-lived read, such as a
+     * cursor, only when another one stays idle for the read calls
+     * @return the handle, null when none is spare
+     */
+    public synchronized SupportSQLiteDatabase acquireSpare() {
+        if (idle.size() < 2) return null;
+        return idle.poll();
+    }
+
+    /**
+     * GetIdleCount Method
+     * @return the number of handles not checked out
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Release Method
+     * Check in a handle returned by acquire
+     * @param reader
+     */
+    public void release(SupportSQLiteDatabase reader) {
+        if (reader != null) idle.offer(reader);
+    }
+
+    /**
+     * GetReaders Method
+     * @return all the read-only handles
+     */
+    public List<SupportSQLiteDatabase> getReaders() {
+        return new ArrayList<>(readers);
+    }
+
+    /**
+     * GetExecutor Method
+     * @return the executor running the read calls, one thread per handle
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Close Method
+     * Close all the read-only handles
+     */
+    public void close() {
+        if (executor != null) executor.shutdown();
+        for (SupportSQLiteDatabase reader : readers) {
+            try {
+                reader.close();
+            } catch (Exception e) {
+                Log.d(TAG, "Error: close reader failed: " + e.getMessage());
+            }
+        }
+        readers.clear();
+        idle.clear();
+    }
+}
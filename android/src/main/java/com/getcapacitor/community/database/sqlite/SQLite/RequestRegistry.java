@@ -0,0 +1,130 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class RequestRegistry {
+
+    // the request run by the current thread, null if none
+    private static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
+    private final HashMap<String, List<Request>> requests = new HashMap<>();
+
+    public static class Request {
+
+        final String id;
+        volatile boolean cancelled = false;
+
+        Request(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * CheckCancelled Method
+     * Called between rows and statements, throws when
+     * the request run by the current thread was cancelled
+     * @throws Exception
+     */
+    public static void checkCancelled() throws Exception {
+        Request request = CURRENT.get();
+        if (request != null && request.cancelled) {
+            throw new Exception("Request " + request.id + " cancelled");
+        }
+    }
+
+    /**
+     * Register Method
+     * Register a request before it is queued, so it can be
+     * cancelled while it waits
+     * @param requestId
+     * @return
+     */
+    public synchronized Request register(String requestId) {
+        Request request = new Request(requestId);
+        List<Request> list = requests.get(requestId);
+        if (list == null) {
+            list = new ArrayList<>();
+            requests.put(requestId, list);
+        }
+        list.add(request);
+        return request;
+    }
+
+    /**
+     * Wrap Method
+     * @param request
+     * @param task
+     * @return a task running with the request bound to its thread,
+     * rejected as the task when its connection is closing
+     */
+    public Runnable wrap(final Request request, final Runnable task) {
+        return new Database.Rejectable() {
+            @Override
+            public void reject(String message) {
+                unregister(request);
+                if (task instanceof Database.Rejectable) ((Database.Rejectable) task).reject(message);
+            }
+
+            @Override
+            public void run() {
+                CURRENT.set(request);
+                try {
+                    task.run();
+                } finally {
+                    CURRENT.remove();
+                    unregister(request);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wrap Method
+     * @param request
+     * @param attempt
+     * @return an attempt running with the request bound to its thread,
+     * the request stays registered while its call is queued again
+     */
+    public BusyRetry.Attempt wrap(final Request request, final BusyRetry.Attempt attempt) {
+        return new BusyRetry.Attempt() {
+            @Override
+            public void run() throws Exception {
+                CURRENT.set(request);
+                try {
+                    attempt.run();
+                } finally {
+                    CURRENT.remove();
+                }
+                unregister(request);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                unregister(request);
+                attempt.onError(e);
+            }
+        };
+    }
+
+    /**
+     * Cancel Method
+     * @param requestId
+     * @return false if no request runs or waits with this id
+     */
+    public synchronized boolean cancel(String requestId) {
+        List<Request> list = requests.get(requestId);
+        if (list == null) return false;
+        for (Request request : list) {
+            request.cancelled = true;
+        }
+        return true;
+    }
+
+    private synchronized void unregister(Request request) {
+        List<Request> list = requests.get(request.id);
+        if (list == null) return;
+        list.remove(request);
+        if (list.isEmpty()) requests.remove(request.id);
+    }
+}
@@ -0,0 +1,113 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import static android.database.Cursor.FIELD_TYPE_BLOB;
+import static android.database.Cursor.FIELD_TYPE_FLOAT;
+import static android.database.Cursor.FIELD_TYPE_INTEGER;
+import static android.database.Cursor.FIELD_TYPE_STRING;
+
+import com.getcapacitor.JSObject;
+import net.sqlcipher.Cursor;
+import org.json.JSONObject;
+
+public class RowDecoder {
+
+    private final Cursor cursor;
+    // column names are read once per cursor, cells are decoded by index
+    private final String[] columnNames;
+    // estimated size in bytes of the decoded values, for the query cache
+    private long decodedBytes = 0;
+
+    public RowDecoder(Cursor cursor) {
+        this.cursor = cursor;
+        this.columnNames = cursor.getColumnNames();
+    }
+
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * GetDecodedBytes Method
+     * @return the estimated size in bytes of the values decoded so far
+     */
+    public long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    /**
+     * GetColumnIndex Method
+     * @param name
+     * @return the column index or -1 if not found
+     */
+    public int getColumnIndex(String name) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * GetValue Method
+     * Decode the cell of the current row at a given index
+     * @param index
+     * @return a Long, Double, String, byte[] or JSONObject.NULL
+     */
+    public Object getValue(int index) {
+        switch (cursor.getType(index)) {
+            case FIELD_TYPE_STRING:
+                String str = cursor.getString(index);
+                decodedBytes += 2L * str.length() + 16;
+                return str;
+            case FIELD_TYPE_INTEGER:
+                decodedBytes += 16;
+                return cursor.getLong(index);
+            case FIELD_TYPE_FLOAT:
+                decodedBytes += 16;
+                return cursor.getDouble(index);
+            case FIELD_TYPE_BLOB:
+                byte[] blob = cursor.getBlob(index);
+                decodedBytes += blob.length + 16;
+                return blob;
+            default:
+                decodedBytes += 4;
+                return JSONObject.NULL;
+        }
+    }
+
+    /**
+     * GetTypeName Method
+     * @param index
+     * @return the storage class of the cell of the current row
+     */
+    public String getTypeName(int index) {
+        switch (cursor.getType(index)) {
+            case FIELD_TYPE_STRING:
+                return "TEXT";
+            case FIELD_TYPE_INTEGER:
+                return "INTEGER";
+            case FIELD_TYPE_FLOAT:
+                return "REAL";
+            case FIELD_TYPE_BLOB:
+                return "BLOB";
+            default:
+                return "NULL";
+        }
+    }
+
+    /**
+     * GetRow Method
+     * @return the current row as a JSObject keyed by column name
+     */
+    public JSObject getRow() {
+        JSObject row = new JSObject();
+        for (int i = 0; i < columnNames.length; i++) {
+            row.put(columnNames[i], getValue(i));
+            decodedBytes += 2L * columnNames[i].length();
+        }
+        return row;
+    }
+}
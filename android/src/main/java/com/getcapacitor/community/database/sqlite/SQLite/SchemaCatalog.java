@@ -0,0 +1,224 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import net.sqlcipher.Cursor;
+
+public class SchemaCatalog {
+
+    private static final String[] EXCLUDED_TABLES = { "sync_table", "_temp_%", "sqlite_%", "android_%" };
+    private final Database db;
+    private final UtilsSQLite uSqlite = new UtilsSQLite();
+    // the committed schema, null when not loaded
+    private Snapshot snapshot = null;
+
+    public static class Columns {
+
+        public final ArrayList<String> names = new ArrayList<>();
+        public final ArrayList<String> types = new ArrayList<>();
+    }
+
+    private static class Snapshot {
+
+        // schema_version of the loaded schema
+        final long version;
+        final ArrayList<String> tables = new ArrayList<>();
+        final ArrayList<String> views = new ArrayList<>();
+        final ArrayList<String> indexes = new ArrayList<>();
+        final ArrayList<String> triggers = new ArrayList<>();
+        final Set<String> allTables = new HashSet<>();
+        final Set<String> allViews = new HashSet<>();
+        boolean hasForeignKeys = false;
+        final HashMap<String, Columns> columns = new HashMap<>();
+
+        Snapshot(long version) {
+            this.version = version;
+        }
+    }
+
+    public SchemaCatalog(Database db) {
+        this.db = db;
+    }
+
+    /**
+     * GetTableNames Method
+     * @return the user table names, without the sync and temporary tables
+     */
+    public synchronized List<String> getTableNames() throws Exception {
+        return new ArrayList<>(current().tables);
+    }
+
+    /**
+     * GetViewNames Method
+     * @return the view names
+     */
+    public synchronized List<String> getViewNames() throws Exception {
+        return new ArrayList<>(current().views);
+    }
+
+    /**
+     * GetIndexNames Method
+     * @return the index names, without the automatic indexes
+     */
+    public synchronized List<String> getIndexNames() throws Exception {
+        return new ArrayList<>(current().indexes);
+    }
+
+    /**
+     * GetTriggerNames Method
+     * @return the trigger names
+     */
+    public synchronized List<String> getTriggerNames() throws Exception {
+        return new ArrayList<>(current().triggers);
+    }
+
+    public synchronized boolean isTable(String name) throws Exception {
+        return current().allTables.contains(name);
+    }
+
+    public synchronized boolean isView(String name) throws Exception {
+        return current().allViews.contains(name);
+    }
+
+    /**
+     * HasTriggersOrForeignKeys Method
+     * @return true when a write may change other tables
+     */
+    public synchronized boolean hasTriggersOrForeignKeys() throws Exception {
+        Snapshot snap = current();
+        return snap.hasForeignKeys || snap.triggers.size() > 0;
+    }
+
+    /**
+     * GetColumns Method
+     * @param table
+     * @return the column names and types given by PRAGMA table_info
+     */
+    public synchronized Columns getColumns(String table) throws Exception {
+        Snapshot snap = current();
+        Columns cols = snap.columns.get(table);
+        if (cols != null) return cols;
+        cols = loadColumns(db.getDb(), table);
+        snap.columns.put(table, cols);
+        return cols;
+    }
+
+    private Columns loadColumns(SupportSQLiteDatabase handle, String table) throws Exception {
+        Columns cols = new Columns();
+        String query = new StringBuilder("PRAGMA table_info(").append(uSqlite.quoteIdentifier(table)).append(");").toString();
+        Cursor c = null;
+        try {
+            c = (Cursor) handle.query(query);
+            int nameIdx = c.getColumnIndex("name");
+            int typeIdx = c.getColumnIndex("type");
+            while (c.moveToNext()) {
+                cols.names.add(c.getString(nameIdx));
+                cols.types.add(c.getString(typeIdx));
+            }
+        } finally {
+            if (c != null) c.close();
+        }
+        return cols;
+    }
+
+    /**
+     * Invalidate Method
+     * Reload the catalog on next use, called once a statement
+     * changing the schema ran and when a transaction ends
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Close Method
+     * Release the catalog, it is reloaded on next use
+     */
+    public synchronized void close() {
+        snapshot = null;
+    }
+
+    /**
+     * Return the schema as seen by the writer, the reader handles
+     * would not see the changes of its transaction
+     * Within a transaction the schema is loaded without being kept,
+     * a rollback would leave its uncommitted changes in the catalog
+     * @throws Exception
+     */
+    private Snapshot current() throws Exception {
+        SupportSQLiteDatabase handle = db.getDb();
+        if (handle.inTransaction()) return load(handle, -1);
+        long version = queryLong(handle, "PRAGMA schema_version;");
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = load(handle, version);
+        }
+        return snapshot;
+    }
+
+    private Snapshot load(SupportSQLiteDatabase handle, long version) throws Exception {
+        Snapshot snap = new Snapshot(version);
+        Cursor c = null;
+        try {
+            c = (Cursor) handle.query("SELECT type, name, sql FROM sqlite_master ORDER BY rootpage DESC;");
+            while (c.moveToNext()) {
+                String type = c.getString(0);
+                String name = c.getString(1);
+                String sql = c.isNull(2) ? "" : c.getString(2);
+                if (type.equals("table")) {
+                    snap.allTables.add(name);
+                    if (!isLike(name, EXCLUDED_TABLES)) snap.tables.add(name);
+                    if (sql.toUpperCase().contains("REFERENCES")) snap.hasForeignKeys = true;
+                } else if (type.equals("view")) {
+                    snap.allViews.add(name);
+                    if (!isLike(name, "sqlite_%")) snap.views.add(name);
+                } else if (type.equals("index")) {
+                    if (!isLike(name, "sqlite_%")) snap.indexes.add(name);
+                } else if (type.equals("trigger")) {
+                    snap.triggers.add(name);
+                }
+            }
+        } catch (Exception e) {
+            throw new Exception("SchemaCatalog refresh failed " + e.getMessage());
+        } finally {
+            if (c != null) c.close();
+        }
+        return snap;
+    }
+
+    private long queryLong(SupportSQLiteDatabase handle, String query) {
+        Cursor c = null;
+        try {
+            c = (Cursor) handle.query(query);
+            return c.moveToFirst() ? c.getLong(0) : -1;
+        } finally {
+            if (c != null) c.close();
+        }
+    }
+
+    /**
+     * IsLike Method
+     * Match a name as the SQL LIKE operator does
+     * (case insensitive, '_' any character, '%' any sequence)
+     */
+    private boolean isLike(String name, String... patterns) {
+        for (String pattern : patterns) {
+            StringBuilder regex = new StringBuilder("(?is)");
+            for (char ch : pattern.toCharArray()) {
+                if (ch == '%') {
+                    regex.append(".*");
+                } else if (ch == '_') {
+                    regex.append(".");
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(ch)));
+                }
+            }
+            if (name.matches(regex.toString())) return true;
+        }
+        return false;
+    }
+}
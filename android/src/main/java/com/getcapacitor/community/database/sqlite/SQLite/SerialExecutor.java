@@ -0,0 +1,250 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.os.SystemClock;
+import android.util.Log;
+import com.getcapacitor.JSObject;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class SerialExecutor implements Executor {
+
+    private static final String TAG = SerialExecutor.class.getName();
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    // a single thread, ended when idle unless pinned
+    private final ThreadPoolExecutor thread = new ThreadPoolExecutor(
+        1,
+        1,
+        KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>()
+    );
+    // delays the tasks queued again, shared by the connections
+    private static final ScheduledThreadPoolExecutor DELAYED = new ScheduledThreadPoolExecutor(1);
+
+    static {
+        DELAYED.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        DELAYED.allowCoreThreadTimeOut(true);
+    }
+
+    // interactive tasks always run before the bulk ones
+    private final Lane interactive = new Lane();
+    private final Lane bulk = new Lane();
+    private boolean running = false;
+    private Thread runner = null;
+    private Task current = null;
+    private int bulkDepth = 0;
+    private long yields = 0;
+
+    private static class Task {
+
+        final Runnable runnable;
+        final Lane lane;
+        final long queued = SystemClock.elapsedRealtime();
+
+        Task(Runnable runnable, Lane lane) {
+            this.runnable = runnable;
+            this.lane = lane;
+        }
+    }
+
+    private static class Lane {
+
+        final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        long completed = 0;
+        long totalWait = 0;
+        long maxWait = 0;
+
+        Task poll() {
+            Task task = tasks.poll();
+            if (task != null) {
+                long wait = SystemClock.elapsedRealtime() - task.queued;
+                completed++;
+                totalWait += wait;
+                maxWait = Math.max(maxWait, wait);
+            }
+            return task;
+        }
+
+        JSObject getStats() {
+            JSObject ret = new JSObject();
+            ret.put("queued", tasks.size());
+            ret.put("completed", completed);
+            ret.put("avgWait", completed > 0 ? (double) totalWait / completed : 0.0);
+            ret.put("maxWait", maxWait);
+            return ret;
+        }
+    }
+
+    private final Runnable drain = new Runnable() {
+        @Override
+        public void run() {
+            boolean restart = true;
+            try {
+                while (true) {
+                    Task task;
+                    synchronized (SerialExecutor.this) {
+                        task = interactive.poll();
+                        if (task == null) task = bulk.poll();
+                        if (task == null) {
+                            restart = false;
+                            return;
+                        }
+                        runner = Thread.currentThread();
+                    }
+                    runTask(task);
+                }
+            } finally {
+                synchronized (SerialExecutor.this) {
+                    running = false;
+                    runner = null;
+                    // the tasks queued after a failure still run
+                    if (restart && (!interactive.tasks.isEmpty() || !bulk.tasks.isEmpty())) {
+                        running = true;
+                        thread.execute(this);
+                    }
+                }
+            }
+        }
+    };
+
+    public SerialExecutor() {
+        thread.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Execute Method
+     * Queue an interactive task, the tasks run one at a time,
+     * interactive ones first, each lane in FIFO order
+     * @param task
+     */
+    @Override
+    public void execute(Runnable task) {
+        enqueue(new Task(task, interactive));
+    }
+
+    /**
+     * ExecuteBulk Method
+     * Queue a bulk task, run when no interactive task waits
+     * @param task
+     */
+    public void executeBulk(Runnable task) {
+        enqueue(new Task(task, bulk));
+    }
+
+    /**
+     * ExecuteDelayed Method
+     * Queue a task again after a delay, on the lane of the task
+     * running on the current thread, the thread is not blocked
+     * meanwhile and the tasks queued later may run first
+     * @param task
+     * @param delay in ms
+     */
+    public void executeDelayed(final Runnable task, long delay) {
+        final Lane lane;
+        synchronized (this) {
+            lane = Thread.currentThread() == runner && current != null ? current.lane : interactive;
+        }
+        DELAYED.schedule(
+            new Runnable() {
+                @Override
+                public void run() {
+                    enqueue(new Task(task, lane));
+                }
+            },
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * YieldToInteractive Method
+     * Called by a bulk task between tables or chunks, run the
+     * interactive tasks queued meanwhile on the current thread
+     * No effect when not called from a running bulk task
+     */
+    public void yieldToInteractive() {
+        synchronized (this) {
+            if (Thread.currentThread() != runner || current == null || current.lane != bulk) return;
+        }
+        while (true) {
+            Task task;
+            synchronized (this) {
+                task = interactive.poll();
+                if (task == null) return;
+                yields++;
+            }
+            runTask(task);
+        }
+    }
+
+    /**
+     * IsYielding Method
+     * @return true when called from an interactive task run
+     * while a bulk task yields, the bulk task still owns the connection
+     */
+    public synchronized boolean isYielding() {
+        return Thread.currentThread() == runner && bulkDepth > 0 && current != null && current.lane == interactive;
+    }
+
+    /**
+     * SetPinned Method
+     * Keep the thread alive, a transaction is bound
+     * to the thread which began it
+     * @param pinned
+     */
+    public void setPinned(boolean pinned) {
+        thread.allowCoreThreadTimeOut(!pinned);
+    }
+
+    /**
+     * GetQueueSize Method
+     * @return the number of tasks waiting to run
+     */
+    public synchronized int getQueueSize() {
+        return interactive.tasks.size() + bulk.tasks.size();
+    }
+
+    /**
+     * GetStats Method
+     * @return the queue depth and wait times in ms of each lane
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("interactive", interactive.getStats());
+        ret.put("bulk", bulk.getStats());
+        ret.put("yields", yields);
+        return ret;
+    }
+
+    private synchronized void enqueue(Task task) {
+        task.lane.tasks.offer(task);
+        if (!running) {
+            running = true;
+            thread.execute(drain);
+        }
+    }
+
+    private void runTask(Task task) {
+        Task previous;
+        synchronized (this) {
+            previous = current;
+            current = task;
+            if (task.lane == bulk) bulkDepth++;
+        }
+        try {
+            task.runnable.run();
+        } catch (Throwable t) {
+            // a task must not end the drain, its connection would hang
+            Log.e(TAG, "Error: task failed: " + t.getMessage());
+        } finally {
+            synchronized (this) {
+                if (task.lane == bulk) bulkDepth--;
+                current = previous;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.database.sqlite.NotificationCenter;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import net.sqlcipher.Cursor;
+
+public class SlowQueryLog {
+
+    private static final String TAG = SlowQueryLog.class.getName();
+    private static final int DEFAULT_CAPACITY = 50;
+    private static final int MAX_PLANS = 100;
+    private final String dbName;
+    // threshold in ms, a negative value disables the log
+    private long threshold = -1;
+    private int capacity = DEFAULT_CAPACITY;
+    private boolean notify = false;
+    private final ArrayDeque<JSObject> entries = new ArrayDeque<>();
+    private final HashMap<String, JSArray> plans = new HashMap<>();
+
+    public SlowQueryLog(String dbName) {
+        this.dbName = dbName;
+    }
+
+    /**
+     * Configure Method
+     * @param threshold in ms, a negative value disables the log
+     * @param capacity the maximum number of kept entries
+     * @param notify post a slowQuery notification for each entry
+     */
+    public synchronized void configure(long threshold, int capacity, boolean notify) {
+        this.threshold = threshold;
+        this.capacity = Math.max(capacity, 1);
+        this.notify = notify;
+        while (entries.size() > this.capacity) {
+            entries.pollFirst();
+        }
+    }
+
+    public boolean isEnabled() {
+        return threshold >= 0;
+    }
+
+    /**
+     * Record Method
+     * Record a statement if its duration exceeds the threshold
+     * @param db
+     * @param sql
+     * @param startNanos System.nanoTime() when the statement started
+     * @param rows the number of rows returned or modified
+     */
+    public void record(SupportSQLiteDatabase db, String sql, long startNanos, long rows) {
+        if (threshold < 0) return;
+        long duration = (System.nanoTime() - startNanos) / 1000000;
+        if (duration < threshold) return;
+        JSObject entry = new JSObject();
+        entry.put("sql", sql);
+        entry.put("duration", duration);
+        entry.put("rows", rows);
+        entry.put("plan", getPlan(db, sql));
+        entry.put("timestamp", System.currentTimeMillis());
+        synchronized (this) {
+            entries.addLast(entry);
+            if (entries.size() > capacity) entries.pollFirst();
+        }
+        if (notify) {
+            Map<String, Object> info = new HashMap<>();
+            info.put("database", dbName);
+            info.put("entry", entry);
+            NotificationCenter.defaultCenter().postNotification("slowQuery", info);
+        }
+    }
+
+    /**
+     * GetEntries Method
+     * @param clear empty the log after reading it
+     * @return the recorded entries, oldest first
+     */
+    public synchronized JSArray getEntries(boolean clear) {
+        JSArray ret = new JSArray();
+        for (JSObject entry : entries) {
+            ret.put(entry);
+        }
+        if (clear) entries.clear();
+        return ret;
+    }
+
+    private JSArray getPlan(SupportSQLiteDatabase db, String sql) {
+        synchronized (this) {
+            JSArray plan = plans.get(sql);
+            if (plan != null) return plan;
+        }
+        // EXPLAIN QUERY PLAN runs once per distinct sql,
+        // unbound parameters are NULL
+        JSArray plan = new JSArray();
+        Cursor c = null;
+        try {
+            c = (Cursor) db.query("EXPLAIN QUERY PLAN " + sql);
+            int detail = c.getColumnIndex("detail");
+            while (detail >= 0 && c.moveToNext()) {
+                plan.put(c.getString(detail));
+            }
+        } catch (Exception e) {
+            Log.d(TAG, "EXPLAIN QUERY PLAN failed: " + e.getMessage());
+        } finally {
+            if (c != null) c.close();
+        }
+        synchronized (this) {
+            if (plans.size() >= MAX_PLANS) plans.clear();
+            plans.put(sql, plan);
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,105 @@
+package com.getcapacitor.community.database.sqlite.SQLite;
+
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import com.getcapacitor.JSObject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StatementCache {
+
+    private static final String TAG = StatementCache.class.getName();
+    private static final int DEFAULT_MAX_SIZE = 25;
+    private final int maxSize;
+    private final LinkedHashMap<String, SupportSQLiteStatement> statements;
+    private long hits = 0;
+    private long misses = 0;
+
+    public StatementCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        // access-ordered map, the eldest entry is the least recently used
+        this.statements =
+            new LinkedHashMap<String, SupportSQLiteStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SupportSQLiteStatement> eldest) {
+                    if (size() > StatementCache.this.maxSize) {
+                        closeStatement(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+    }
+
+    /**
+     * Acquire Method
+     * Return the compiled statement for a given sql,
+     * compiling and caching it on a miss
+     * The statement must be released before the next acquire
+     * @param db
+     * @param sql
+     * @return
+     */
+    public synchronized SupportSQLiteStatement acquire(SupportSQLiteDatabase db, String sql) {
+        SupportSQLiteStatement stmt = statements.get(sql);
+        if (stmt != null) {
+            hits++;
+            return stmt;
+        }
+        misses++;
+        stmt = db.compileStatement(sql);
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    /**
+     * Release Method
+     * Clear the bindings of a statement returned by acquire
+     * @param stmt
+     */
+    public synchronized void release(SupportSQLiteStatement stmt) {
+        if (stmt == null) return;
+        try {
+            stmt.clearBindings();
+        } catch (Exception e) {
+            Log.d(TAG, "Error: release clearBindings failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clear Method
+     * Close and evict all the cached statements
+     */
+    public synchronized void clear() {
+        for (SupportSQLiteStatement stmt : statements.values()) {
+            closeStatement(stmt);
+        }
+        statements.clear();
+    }
+
+    /**
+     * GetStats Method
+     * @return the cache size and the hit/miss counters
+     */
+    public synchronized JSObject getStats() {
+        JSObject ret = new JSObject();
+        ret.put("size", statements.size());
+        ret.put("maxSize", maxSize);
+        ret.put("hits", hits);
+        ret.put("misses", misses);
+        return ret;
+    }
+
+    private void closeStatement(SupportSQLiteStatement stmt) {
+        try {
+            stmt.close();
+        } catch (Exception e) {
+            Log.d(TAG, "Error: closeStatement failed: " + e.getMessage());
+        }
+    }
+}
@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.List;
-import net.sqlcipher.Cursor;
 
 public class UtilsDrop {
 
@@ -19,27 +18,10 @@ public class UtilsDrop {
      */
 
     public List<String> getTablesNames(Database db) throws Exception {
-        List<String> tables = new ArrayList<String>();
-        Cursor cursor = null;
-        String query = "SELECT name FROM sqlite_master WHERE ";
-        query += "type='table' AND name NOT LIKE 'sync_table' ";
-        query += "AND name NOT LIKE '_temp_%' ";
-        query += "AND name NOT LIKE 'sqlite_%' ";
-        query += "AND name NOT LIKE 'android_%' ";
-        query += "ORDER BY rootpage DESC;";
         try {
-            cursor = (Cursor) db.getDb().query(query);
-            cursor.moveToFirst();
-            while (!cursor.isAfterLast()) {
-                String tableName = cursor.getString(0);
-                tables.add(tableName);
-                cursor.moveToNext();
-            }
+            return db.getSchemaCatalog().getTableNames();
         } catch (Exception e) {
             throw new Exception("GetTablesNames failed " + e);
-        } finally {
-            cursor.close();
-            return tables;
         }
     }
 
@@ -50,24 +32,10 @@ public class UtilsDrop {
      */
 
     public List<String> getViewNames(Database db) throws Exception {
-        List<String> views = new ArrayList<String>();
-        Cursor cursor = null;
-        String query = "SELECT name FROM sqlite_master WHERE ";
-        query += "type='view' AND name NOT LIKE 'sqlite_%' ";
-        query += "ORDER BY rootpage DESC;";
         try {
-            cursor = (Cursor) db.getDb().query(query);
-            cursor.moveToFirst();
-            while (!cursor.isAfterLast()) {
-                String viewName = cursor.getString(0);
-                views.add(viewName);
-                cursor.moveToNext();
-            }
+            return db.getSchemaCatalog().getViewNames();
         } catch (Exception e) {
-            throw new Exception("GetTablesNames failed " + e);
-        } finally {
-            cursor.close();
-            return views;
+            throw new Exception("GetViewNames failed " + e);
         }
     }
 
@@ -111,20 +79,8 @@ public class UtilsDrop {
      * @return List<String>
      */
 
-    public List<String> getIndexesNames(Database db) {
-        List<String> indexes = new ArrayList<String>();
-        Cursor cursor = null;
-        String query = "SELECT name FROM sqlite_master WHERE ";
-        query += "type='index' AND name NOT LIKE 'sqlite_%';";
-        cursor = (Cursor) db.getDb().query(query);
-        cursor.moveToFirst();
-        while (!cursor.isAfterLast()) {
-            String indexName = cursor.getString(0);
-            indexes.add(indexName);
-            cursor.moveToNext();
-        }
-        cursor.close();
-        return indexes;
+    public List<String> getIndexesNames(Database db) throws Exception {
+        return db.getSchemaCatalog().getIndexNames();
     }
 
     /**
@@ -150,20 +106,8 @@ public class UtilsDrop {
      * @return List<String>
      */
 
-    public List<String> getTriggersNames(Database db) {
-        List<String> triggers = new ArrayList<String>();
-        Cursor cursor = null;
-        String query = "SELECT name FROM sqlite_master WHERE ";
-        query += "type='trigger';";
-        cursor = (Cursor) db.getDb().query(query);
-        cursor.moveToFirst();
-        while (!cursor.isAfterLast()) {
-            String triggerName = cursor.getString(0);
-            triggers.add(triggerName);
-            cursor.moveToNext();
-        }
-        cursor.close();
-        return triggers;
+    public List<String> getTriggersNames(Database db) throws Exception {
+        return db.getSchemaCatalog().getTriggerNames();
     }
 
     /**
@@ -188,27 +132,39 @@ public class UtilsDrop {
      * @param db
      */
     public void dropAll(Database db) throws Exception {
-        Boolean success = false;
+        dropAll(db, true);
+    }
+
+    /**
+     * Drop all
+     * @param db
+     * @param vacuum false within a transaction, VACUUM cannot run in it
+     */
+    public void dropAll(Database db, boolean vacuum) throws Exception {
+        Boolean began = false;
         try {
             db.getDb().beginTransaction();
+            began = true;
             dropTables(db);
             dropIndexes(db);
             dropTriggers(db);
             dropViews(db);
             db.getDb().setTransactionSuccessful();
-            success = true;
         } catch (Exception e) {
             String msg = "DropAll failed: " + e;
             Log.d(TAG, msg);
             throw new Exception(msg);
         } finally {
-            if (success) db.getDb().endTransaction();
-            try {
-                db.getDb().execSQL("VACUUM;");
-            } catch (Exception e) {
-                String msg = "DropAll VACUUM failed: " + e;
-                Log.d(TAG, msg);
-                throw new Exception(msg);
+            // ended on failure too, an enclosing transaction is then rolled back
+            if (began) db.getDb().endTransaction();
+            if (vacuum) {
+                try {
+                    db.getDb().execSQL("VACUUM;");
+                } catch (Exception e) {
+                    String msg = "DropAll VACUUM failed: " + e;
+                    Log.d(TAG, msg);
+                    throw new Exception(msg);
+                }
             }
         }
     }
@@ -19,6 +19,34 @@ public class UtilsFile {
 
     private static final String TAG = UtilsFile.class.getName();
 
+    /**
+     * GetSandboxFile Method
+     * Resolve a path in the app sandbox, a relative path is
+     * resolved in the files directory
+     * @param context
+     * @param path
+     * @return
+     * @throws Exception when the path is outside the files, cache
+     * and external files directories of the app
+     */
+    public File getSandboxFile(Context context, String path) throws Exception {
+        File file = new File(path);
+        if (!file.isAbsolute()) {
+            file = new File(context.getFilesDir(), path);
+        }
+        // the canonical path resolves the .. and the symbolic links
+        String filePath = file.getCanonicalPath();
+        File[] roots = { context.getFilesDir(), context.getCacheDir(), context.getExternalFilesDir(null) };
+        for (File root : roots) {
+            if (root == null) continue;
+            String rootPath = root.getCanonicalPath();
+            if (filePath.startsWith(rootPath + File.separator)) {
+                return new File(filePath);
+            }
+        }
+        throw new Exception("path " + path + " is outside the app sandbox");
+    }
+
     public Boolean isFileExists(Context context, String dbName) {
         File file = context.getDatabasePath(dbName);
         return file.exists();
@@ -1,36 +1,143 @@
 package com.getcapacitor.community.database.sqlite.SQLite;
 
-import android.util.Log;
-import androidx.sqlite.db.SupportSQLiteDatabase;
 import com.getcapacitor.JSArray;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import net.sqlcipher.Cursor;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.json.JSONArray;
 import org.json.JSONException;
 
 public class UtilsSQLite {
 
     private static final String TAG = UtilsSQLite.class.getName();
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+    private static final Pattern WRITE_TARGET = Pattern.compile(
+        "^\\s*(?:(?:INSERT|REPLACE)(?:\\s+OR\\s+\\w+)?\\s+INTO|UPDATE(?:\\s+OR\\s+\\w+)?|DELETE\\s+FROM)\\s+(?:\\w+\\.)?(\\w+)",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Set<String> MAIN_KEYWORDS = new HashSet<>(Arrays.asList("SELECT", "VALUES", "INSERT", "REPLACE", "UPDATE", "DELETE"));
 
-    public int dbChanges(SupportSQLiteDatabase db) {
-        String SELECT_CHANGE = "SELECT total_changes()";
-        Boolean success = true;
-        int ret = Integer.valueOf(-1);
-        try {
-            Cursor cursor = (Cursor) db.query(SELECT_CHANGE, null);
-            if (cursor != null) {
-                if (cursor.moveToFirst()) {
-                    ret = Integer.parseInt(cursor.getString(0));
+    /**
+     * Get the statement type from its first keyword, or for a
+     * WITH clause from the keyword of the statement it prefixes
+     * @param statement
+     * @return the first six characters upper cased
+     */
+    public String getStatementType(String statement) {
+        int start = 0;
+        while (start < statement.length() && Character.isWhitespace(statement.charAt(start))) {
+            start++;
+        }
+        int end = Math.min(start + 6, statement.length());
+        String stmtType = statement.substring(start, end).toUpperCase();
+        if (stmtType.startsWith("WITH") && (end - start == 4 || !Character.isLetterOrDigit(statement.charAt(start + 4)))) {
+            int main = getMainStatementStart(statement, start + 4);
+            if (main >= 0) return statement.substring(main, Math.min(main + 6, statement.length())).toUpperCase();
+        }
+        return stmtType;
+    }
+
+    /**
+     * Skip the common table expressions of a WITH clause, their
+     * bodies are within parentheses
+     * @param statement
+     * @param from the position following WITH
+     * @return the position of the main statement keyword, -1 if not found
+     */
+    private int getMainStatementStart(String statement, int from) {
+        int depth = 0;
+        int i = from;
+        while (i < statement.length()) {
+            char ch = statement.charAt(i);
+            if (ch == '\'' || ch == '"' || ch == '`' || ch == '[') {
+                char close = ch == '[' ? ']' : ch;
+                int next = statement.indexOf(close, i + 1);
+                if (next < 0) return -1;
+                i = next + 1;
+            } else if (ch == '(') {
+                depth++;
+                i++;
+            } else if (ch == ')') {
+                depth--;
+                i++;
+            } else if (depth == 0 && Character.isLetter(ch)) {
+                int j = i;
+                while (j < statement.length() && (Character.isLetterOrDigit(statement.charAt(j)) || statement.charAt(j) == '_')) {
+                    j++;
                 }
+                String word = statement.substring(i, j).toUpperCase();
+                if (MAIN_KEYWORDS.contains(word)) return i;
+                i = j;
+            } else {
+                i++;
             }
-            cursor.close();
-        } catch (Exception e) {
-            Log.d(TAG, "Error: dbChanges failed: ", e);
-        } finally {
-            return ret;
         }
+        return -1;
+    }
+
+    /**
+     * Get the identifiers used in a statement
+     * @param statement
+     * @return the lower cased identifiers and keywords
+     */
+    public Set<String> getIdentifiers(String statement) {
+        Set<String> identifiers = new HashSet<>();
+        Matcher m = IDENTIFIER.matcher(statement);
+        while (m.find()) {
+            identifiers.add(m.group().toLowerCase());
+        }
+        return identifiers;
+    }
+
+    /**
+     * Get the table written by a statement
+     * @param statement
+     * @return the lower cased table name, an empty string for a SELECT
+     * or null when the written tables are unknown
+     */
+    public String getWriteTable(String statement) {
+        String stmt = statement.replaceAll("[\"`\\[\\]]", "");
+        if (getStatementType(stmt).equals("SELECT")) return "";
+        Matcher m = WRITE_TARGET.matcher(stmt);
+        return m.find() ? m.group(1).toLowerCase() : null;
+    }
+
+    /**
+     * Get the view names of a database
+     * @param db
+     * @return the lower cased view names
+     * @throws Exception
+     */
+    public Set<String> getViewNames(Database db) throws Exception {
+        Set<String> views = new HashSet<>();
+        for (String view : db.getSchemaCatalog().getViewNames()) {
+            views.add(view.toLowerCase());
+        }
+        return views;
+    }
+
+    /**
+     * Check if a write on a table may change other tables
+     * through triggers or foreign key actions
+     * @param db
+     * @return
+     * @throws Exception
+     */
+    public boolean hasTriggersOrForeignKeys(Database db) throws Exception {
+        return db.getSchemaCatalog().hasTriggersOrForeignKeys();
+    }
+
+    /**
+     * Quote an identifier (table or column name)
+     * @param name
+     * @return the double-quoted name
+     */
+    public String quoteIdentifier(String name) {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
     }
 
     public String[] getStatementsArray(String statements) {
@@ -65,7 +65,7 @@ export class SQLiteConnection {
             return Promise.reject(err);
         }
     }
-    async createConnection(database, encrypted, mode, version) {
+    async createConnection(database, encrypted, mode, version, wal, readers, maintenance) {
         try {
             if (database.endsWith('.db'))
                 database = database.slice(0, -3);
@@ -74,6 +74,9 @@ export class SQLiteConnection {
                 encrypted,
                 mode,
                 version,
+                wal,
+                readers,
+                maintenance,
             });
             const conn = new SQLiteDBConnection(database, this.sqlite);
             this._connectionDict.set(database, conn);
@@ -149,15 +152,42 @@ export class SQLiteConnection {
             return Promise.reject(err);
         }
     }
-    async importFromJson(jsonstring) {
+    async importFromJson(jsonstring, bulkLoad = false) {
         try {
-            const ret = await this.sqlite.importFromJson({ jsonstring: jsonstring });
+            const ret = await this.sqlite.importFromJson({
+                jsonstring: jsonstring,
+                bulkLoad: bulkLoad,
+            });
             return Promise.resolve(ret);
         }
         catch (err) {
             return Promise.reject(err);
         }
     }
+    async importFromJsonFile(path, database, bulkLoad = false) {
+        try {
+            if (database && database.endsWith('.db'))
+                database = database.slice(0, -3);
+            const ret = await this.sqlite.importFromJsonFile({
+                database: database,
+                path: path,
+                bulkLoad: bulkLoad,
+            });
+            return Promise.resolve(ret);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async cancel(requestId) {
+        try {
+            const res = await this.sqlite.cancel({ requestId: requestId });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
     async isJsonValid(jsonstring) {
         try {
             const ret = await this.sqlite.isJsonValid({ jsonstring: jsonstring });
@@ -238,12 +268,13 @@ export class SQLiteDBConnection {
             return Promise.reject(err);
         }
     }
-    async execute(statements, transaction = true) {
+    async execute(statements, transaction = true, requestId) {
         try {
             const res = await this.sqlite.execute({
                 database: this.dbName,
                 statements: statements,
                 transaction: transaction,
+                requestId: requestId,
             });
             return Promise.resolve(res);
         }
@@ -251,23 +282,32 @@ export class SQLiteDBConnection {
             return Promise.reject(err);
         }
     }
-    async query(statement, values) {
+    async query(statement, values, flags = {}) {
         let res;
         try {
-            if (values && values.length > 0) {
-                res = await this.sqlite.query({
-                    database: this.dbName,
-                    statement: statement,
-                    values: values,
-                });
-            }
-            else {
-                res = await this.sqlite.query({
-                    database: this.dbName,
-                    statement: statement,
-                    values: [],
-                });
-            }
+            res = await this.sqlite.query({
+                database: this.dbName,
+                statement: statement,
+                values: values && values.length > 0 ? values : [],
+                cache: flags.cache,
+                requestId: flags.requestId,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async queryColumnar(statement, values, flags = {}) {
+        try {
+            const res = await this.sqlite.query({
+                database: this.dbName,
+                statement: statement,
+                values: values && values.length > 0 ? values : [],
+                columnar: true,
+                cache: flags.cache,
+                requestId: flags.requestId,
+            });
             return Promise.resolve(res);
         }
         catch (err) {
@@ -300,12 +340,13 @@ export class SQLiteDBConnection {
             return Promise.reject(err);
         }
     }
-    async executeSet(set, transaction = true) {
+    async executeSet(set, transaction = true, requestId) {
         try {
             const res = await this.sqlite.executeSet({
                 database: this.dbName,
                 set: set,
                 transaction: transaction,
+                requestId: requestId,
             });
             //      }
             return Promise.resolve(res);
@@ -314,6 +355,184 @@ export class SQLiteDBConnection {
             return Promise.reject(err);
         }
     }
+    async beginTransaction(mode, timeout) {
+        try {
+            await this.sqlite.beginTransaction({
+                database: this.dbName,
+                mode: mode,
+                timeout: timeout,
+            });
+            return Promise.resolve();
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async commitTransaction() {
+        try {
+            await this.sqlite.commitTransaction({ database: this.dbName });
+            return Promise.resolve();
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async rollbackTransaction() {
+        try {
+            await this.sqlite.rollbackTransaction({ database: this.dbName });
+            return Promise.resolve();
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async setGroupCommit(window, maxBatch) {
+        try {
+            await this.sqlite.setGroupCommit({
+                database: this.dbName,
+                window: window,
+                maxBatch: maxBatch,
+            });
+            return Promise.resolve();
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async openCursor(statement, values) {
+        try {
+            const res = await this.sqlite.openCursor({
+                database: this.dbName,
+                statement: statement,
+                values: values && values.length > 0 ? values : [],
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async fetch(handle, count) {
+        try {
+            const res = await this.sqlite.fetch({
+                database: this.dbName,
+                handle: handle,
+                count: count,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async closeCursor(handle) {
+        try {
+            const res = await this.sqlite.closeCursor({
+                database: this.dbName,
+                handle: handle,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async getStats() {
+        try {
+            const res = await this.sqlite.getStats({
+                database: this.dbName,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async watchQuery(statement, values, key, debounce) {
+        try {
+            const res = await this.sqlite.watchQuery({
+                database: this.dbName,
+                statement: statement,
+                values: values && values.length > 0 ? values : [],
+                key: key,
+                debounce: debounce,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async unwatchQuery(watchId) {
+        try {
+            const res = await this.sqlite.unwatchQuery({
+                database: this.dbName,
+                watchId: watchId,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async setSlowQueryLog(threshold, capacity, notify) {
+        try {
+            const res = await this.sqlite.setSlowQueryLog({
+                database: this.dbName,
+                threshold: threshold,
+                capacity: capacity,
+                notify: notify,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async getSlowQueries(clear = false) {
+        try {
+            const res = await this.sqlite.getSlowQueries({
+                database: this.dbName,
+                clear: clear,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async readBlob(table, column, rowid, offset, length) {
+        try {
+            const res = await this.sqlite.readBlob({
+                database: this.dbName,
+                table: table,
+                column: column,
+                rowid: rowid,
+                offset: offset,
+                length: length,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
+    async writeBlob(table, column, rowid, data, offset) {
+        try {
+            const res = await this.sqlite.writeBlob({
+                database: this.dbName,
+                table: table,
+                column: column,
+                rowid: rowid,
+                data: data,
+                offset: offset,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
     async isExists() {
         try {
             const res = await this.sqlite.isDBExists({
@@ -406,5 +625,18 @@ export class SQLiteDBConnection {
             return Promise.reject(err);
         }
     }
+    async exportToJsonFile(mode, path) {
+        try {
+            const res = await this.sqlite.exportToJsonFile({
+                database: this.dbName,
+                path: path,
+                jsonexportmode: mode,
+            });
+            return Promise.resolve(res);
+        }
+        catch (err) {
+            return Promise.reject(err);
+        }
+    }
 }
 //# sourceMappingURL=definitions.js.map
\ No newline at end of file
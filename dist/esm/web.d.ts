@@ -1,5 +1,5 @@
 import { WebPlugin } from '@capacitor/core';
-import type { CapacitorSQLitePlugin, capEchoOptions, capSQLiteOptions, capSQLiteExecuteOptions, capSQLiteSetOptions, capSQLiteRunOptions, capSQLiteQueryOptions, capSQLiteImportOptions, capSQLiteExportOptions, capSQLiteSyncDateOptions, capSQLiteUpgradeOptions, capSQLiteTableOptions, capSQLitePathOptions, capEchoResult, capVersionResult, capSQLiteResult, capSQLiteChanges, capSQLiteValues, capSQLiteJson, capSQLiteSyncDate, capAllConnectionsOptions, capSetSecretOptions, capChangeSecretOptions, capSQLiteFromAssetsOptions } from './definitions';
+import type { CapacitorSQLitePlugin, capEchoOptions, capSQLiteOptions, capSQLiteExecuteOptions, capSQLiteSetOptions, capSQLiteRunOptions, capSQLiteQueryOptions, capSQLiteColumnarQueryOptions, capSQLiteCursorOptions, capSQLiteFetchOptions, capSQLiteBlobOptions, capSQLiteWatchOptions, capSQLiteUnwatchOptions, capSQLiteCancelOptions, capSQLiteTransactionOptions, capSQLiteGroupCommitOptions, capSQLiteSlowQueryLogOptions, capSQLiteSlowQueriesOptions, capSQLiteImportOptions, capSQLiteExportOptions, capSQLiteImportFileOptions, capSQLiteExportFileOptions, capSQLiteSyncDateOptions, capSQLiteUpgradeOptions, capSQLiteTableOptions, capSQLitePathOptions, capEchoResult, capVersionResult, capSQLiteResult, capSQLiteChanges, capSQLiteValues, capSQLiteColumnarResult, capSQLiteCursor, capSQLiteFetch, capSQLiteBlob, capSQLiteStats, capSQLiteWatch, capSQLiteJson, capSQLiteExportFile, capSQLiteSyncDate, capAllConnectionsOptions, capSetSecretOptions, capChangeSecretOptions, capSQLiteFromAssetsOptions } from './definitions';
 export declare class CapacitorSQLiteWeb extends WebPlugin implements CapacitorSQLitePlugin {
     echo(_options: capEchoOptions): Promise<capEchoResult>;
     isSecretStored(): Promise<capSQLiteResult>;
@@ -12,9 +12,25 @@ export declare class CapacitorSQLiteWeb extends WebPlugin implements CapacitorSQ
     checkConnectionsConsistency(_options: capAllConnectionsOptions): Promise<capSQLiteResult>;
     close(_options: capSQLiteOptions): Promise<void>;
     execute(_options: capSQLiteExecuteOptions): Promise<capSQLiteChanges>;
+    beginTransaction(_options: capSQLiteTransactionOptions): Promise<void>;
+    commitTransaction(_options: capSQLiteOptions): Promise<void>;
+    rollbackTransaction(_options: capSQLiteOptions): Promise<void>;
     executeSet(_options: capSQLiteSetOptions): Promise<capSQLiteChanges>;
     run(_options: capSQLiteRunOptions): Promise<capSQLiteChanges>;
-    query(_options: capSQLiteQueryOptions): Promise<capSQLiteValues>;
+    setGroupCommit(_options: capSQLiteGroupCommitOptions): Promise<void>;
+    query(options: capSQLiteColumnarQueryOptions): Promise<capSQLiteColumnarResult>;
+    query(options: capSQLiteQueryOptions): Promise<capSQLiteValues>;
+    openCursor(_options: capSQLiteQueryOptions): Promise<capSQLiteCursor>;
+    fetch(_options: capSQLiteFetchOptions): Promise<capSQLiteFetch>;
+    closeCursor(_options: capSQLiteCursorOptions): Promise<capSQLiteResult>;
+    getStats(_options: capSQLiteOptions): Promise<capSQLiteStats>;
+    watchQuery(_options: capSQLiteWatchOptions): Promise<capSQLiteWatch>;
+    unwatchQuery(_options: capSQLiteUnwatchOptions): Promise<capSQLiteResult>;
+    cancel(_options: capSQLiteCancelOptions): Promise<capSQLiteResult>;
+    setSlowQueryLog(_options: capSQLiteSlowQueryLogOptions): Promise<capSQLiteResult>;
+    getSlowQueries(_options: capSQLiteSlowQueriesOptions): Promise<capSQLiteValues>;
+    readBlob(_options: capSQLiteBlobOptions): Promise<capSQLiteBlob>;
+    writeBlob(_options: capSQLiteBlobOptions): Promise<capSQLiteChanges>;
     isDBExists(_options: capSQLiteOptions): Promise<capSQLiteResult>;
     isDBOpen(_options: capSQLiteOptions): Promise<capSQLiteResult>;
     isDatabase(_options: capSQLiteOptions): Promise<capSQLiteResult>;
@@ -23,6 +39,8 @@ export declare class CapacitorSQLiteWeb extends WebPlugin implements CapacitorSQ
     isJsonValid(_options: capSQLiteImportOptions): Promise<capSQLiteResult>;
     importFromJson(_options: capSQLiteImportOptions): Promise<capSQLiteChanges>;
     exportToJson(_options: capSQLiteExportOptions): Promise<capSQLiteJson>;
+    importFromJsonFile(_options: capSQLiteImportFileOptions): Promise<capSQLiteChanges>;
+    exportToJsonFile(_options: capSQLiteExportFileOptions): Promise<capSQLiteExportFile>;
     createSyncTable(_options: capSQLiteOptions): Promise<capSQLiteChanges>;
     setSyncDate(_options: capSQLiteSyncDateOptions): Promise<void>;
     getSyncDate(_options: capSQLiteOptions): Promise<capSQLiteSyncDate>;
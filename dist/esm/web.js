@@ -33,15 +33,60 @@ export class CapacitorSQLiteWeb extends WebPlugin {
     async execute(_options) {
         throw new Error('Web platform is not supported.');
     }
+    async beginTransaction(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async commitTransaction(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async rollbackTransaction(_options) {
+        throw new Error('Web platform is not supported.');
+    }
     async executeSet(_options) {
         throw new Error('Web platform is not supported.');
     }
     async run(_options) {
         throw new Error('Web platform is not supported.');
     }
+    async setGroupCommit(_options) {
+        throw new Error('Web platform is not supported.');
+    }
     async query(_options) {
         throw new Error('Web platform is not supported.');
     }
+    async openCursor(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async fetch(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async closeCursor(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async getStats(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async watchQuery(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async unwatchQuery(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async cancel(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async setSlowQueryLog(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async getSlowQueries(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async readBlob(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async writeBlob(_options) {
+        throw new Error('Web platform is not supported.');
+    }
     async isDBExists(_options) {
         throw new Error('Web platform is not supported.');
     }
@@ -66,6 +111,12 @@ export class CapacitorSQLiteWeb extends WebPlugin {
     async exportToJson(_options) {
         throw new Error('Web platform is not supported.');
     }
+    async importFromJsonFile(_options) {
+        throw new Error('Web platform is not supported.');
+    }
+    async exportToJsonFile(_options) {
+        throw new Error('Web platform is not supported.');
+    }
     async createSyncTable(_options) {
         throw new Error('Web platform is not supported.');
     }
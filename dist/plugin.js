@@ -68,7 +68,7 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
-        async createConnection(database, encrypted, mode, version) {
+        async createConnection(database, encrypted, mode, version, wal, readers, maintenance) {
             try {
                 if (database.endsWith('.db'))
                     database = database.slice(0, -3);
@@ -77,6 +77,9 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                     encrypted,
                     mode,
                     version,
+                    wal,
+                    readers,
+                    maintenance,
                 });
                 const conn = new SQLiteDBConnection(database, this.sqlite);
                 this._connectionDict.set(database, conn);
@@ -152,15 +155,42 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
-        async importFromJson(jsonstring) {
+        async importFromJson(jsonstring, bulkLoad = false) {
             try {
-                const ret = await this.sqlite.importFromJson({ jsonstring: jsonstring });
+                const ret = await this.sqlite.importFromJson({
+                    jsonstring: jsonstring,
+                    bulkLoad: bulkLoad,
+                });
                 return Promise.resolve(ret);
             }
             catch (err) {
                 return Promise.reject(err);
             }
         }
+        async importFromJsonFile(path, database, bulkLoad = false) {
+            try {
+                if (database && database.endsWith('.db'))
+                    database = database.slice(0, -3);
+                const ret = await this.sqlite.importFromJsonFile({
+                    database: database,
+                    path: path,
+                    bulkLoad: bulkLoad,
+                });
+                return Promise.resolve(ret);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async cancel(requestId) {
+            try {
+                const res = await this.sqlite.cancel({ requestId: requestId });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
         async isJsonValid(jsonstring) {
             try {
                 const ret = await this.sqlite.isJsonValid({ jsonstring: jsonstring });
@@ -241,12 +271,13 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
-        async execute(statements, transaction = true) {
+        async execute(statements, transaction = true, requestId) {
             try {
                 const res = await this.sqlite.execute({
                     database: this.dbName,
                     statements: statements,
                     transaction: transaction,
+                    requestId: requestId,
                 });
                 return Promise.resolve(res);
             }
@@ -254,23 +285,32 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
-        async query(statement, values) {
+        async query(statement, values, flags = {}) {
             let res;
             try {
-                if (values && values.length > 0) {
-                    res = await this.sqlite.query({
-                        database: this.dbName,
-                        statement: statement,
-                        values: values,
-                    });
-                }
-                else {
-                    res = await this.sqlite.query({
-                        database: this.dbName,
-                        statement: statement,
-                        values: [],
-                    });
-                }
+                res = await this.sqlite.query({
+                    database: this.dbName,
+                    statement: statement,
+                    values: values && values.length > 0 ? values : [],
+                    cache: flags.cache,
+                    requestId: flags.requestId,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async queryColumnar(statement, values, flags = {}) {
+            try {
+                const res = await this.sqlite.query({
+                    database: this.dbName,
+                    statement: statement,
+                    values: values && values.length > 0 ? values : [],
+                    columnar: true,
+                    cache: flags.cache,
+                    requestId: flags.requestId,
+                });
                 return Promise.resolve(res);
             }
             catch (err) {
@@ -303,12 +343,13 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
-        async executeSet(set, transaction = true) {
+        async executeSet(set, transaction = true, requestId) {
             try {
                 const res = await this.sqlite.executeSet({
                     database: this.dbName,
                     set: set,
                     transaction: transaction,
+                    requestId: requestId,
                 });
                 //      }
                 return Promise.resolve(res);
@@ -317,6 +358,184 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
+        async beginTransaction(mode, timeout) {
+            try {
+                await this.sqlite.beginTransaction({
+                    database: this.dbName,
+                    mode: mode,
+                    timeout: timeout,
+                });
+                return Promise.resolve();
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async commitTransaction() {
+            try {
+                await this.sqlite.commitTransaction({ database: this.dbName });
+                return Promise.resolve();
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async rollbackTransaction() {
+            try {
+                await this.sqlite.rollbackTransaction({ database: this.dbName });
+                return Promise.resolve();
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async setGroupCommit(window, maxBatch) {
+            try {
+                await this.sqlite.setGroupCommit({
+                    database: this.dbName,
+                    window: window,
+                    maxBatch: maxBatch,
+                });
+                return Promise.resolve();
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async openCursor(statement, values) {
+            try {
+                const res = await this.sqlite.openCursor({
+                    database: this.dbName,
+                    statement: statement,
+                    values: values && values.length > 0 ? values : [],
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async fetch(handle, count) {
+            try {
+                const res = await this.sqlite.fetch({
+                    database: this.dbName,
+                    handle: handle,
+                    count: count,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async closeCursor(handle) {
+            try {
+                const res = await this.sqlite.closeCursor({
+                    database: this.dbName,
+                    handle: handle,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async getStats() {
+            try {
+                const res = await this.sqlite.getStats({
+                    database: this.dbName,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async watchQuery(statement, values, key, debounce) {
+            try {
+                const res = await this.sqlite.watchQuery({
+                    database: this.dbName,
+                    statement: statement,
+                    values: values && values.length > 0 ? values : [],
+                    key: key,
+                    debounce: debounce,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async unwatchQuery(watchId) {
+            try {
+                const res = await this.sqlite.unwatchQuery({
+                    database: this.dbName,
+                    watchId: watchId,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async setSlowQueryLog(threshold, capacity, notify) {
+            try {
+                const res = await this.sqlite.setSlowQueryLog({
+                    database: this.dbName,
+                    threshold: threshold,
+                    capacity: capacity,
+                    notify: notify,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async getSlowQueries(clear = false) {
+            try {
+                const res = await this.sqlite.getSlowQueries({
+                    database: this.dbName,
+                    clear: clear,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async readBlob(table, column, rowid, offset, length) {
+            try {
+                const res = await this.sqlite.readBlob({
+                    database: this.dbName,
+                    table: table,
+                    column: column,
+                    rowid: rowid,
+                    offset: offset,
+                    length: length,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
+        async writeBlob(table, column, rowid, data, offset) {
+            try {
+                const res = await this.sqlite.writeBlob({
+                    database: this.dbName,
+                    table: table,
+                    column: column,
+                    rowid: rowid,
+                    data: data,
+                    offset: offset,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
         async isExists() {
             try {
                 const res = await this.sqlite.isDBExists({
@@ -409,6 +628,19 @@ var capacitorCapacitorSQLite = (function (exports, core) {
                 return Promise.reject(err);
             }
         }
+        async exportToJsonFile(mode, path) {
+            try {
+                const res = await this.sqlite.exportToJsonFile({
+                    database: this.dbName,
+                    path: path,
+                    jsonexportmode: mode,
+                });
+                return Promise.resolve(res);
+            }
+            catch (err) {
+                return Promise.reject(err);
+            }
+        }
     }
 
     const CapacitorSQLite = core.registerPlugin('CapacitorSQLite', {
@@ -449,15 +681,60 @@ var capacitorCapacitorSQLite = (function (exports, core) {
         async execute(_options) {
             throw new Error('Web platform is not supported.');
         }
+        async beginTransaction(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async commitTransaction(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async rollbackTransaction(_options) {
+            throw new Error('Web platform is not supported.');
+        }
         async executeSet(_options) {
             throw new Error('Web platform is not supported.');
         }
         async run(_options) {
             throw new Error('Web platform is not supported.');
         }
+        async setGroupCommit(_options) {
+            throw new Error('Web platform is not supported.');
+        }
         async query(_options) {
             throw new Error('Web platform is not supported.');
         }
+        async openCursor(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async fetch(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async closeCursor(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async getStats(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async watchQuery(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async unwatchQuery(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async cancel(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async setSlowQueryLog(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async getSlowQueries(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async readBlob(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async writeBlob(_options) {
+            throw new Error('Web platform is not supported.');
+        }
         async isDBExists(_options) {
             throw new Error('Web platform is not supported.');
         }
@@ -482,6 +759,12 @@ var capacitorCapacitorSQLite = (function (exports, core) {
         async exportToJson(_options) {
             throw new Error('Web platform is not supported.');
         }
+        async importFromJsonFile(_options) {
+            throw new Error('Web platform is not supported.');
+        }
+        async exportToJsonFile(_options) {
+            throw new Error('Web platform is not supported.');
+        }
         async createSyncTable(_options) {
             throw new Error('Web platform is not supported.');
         }
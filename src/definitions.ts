@@ -77,6 +77,29 @@ export interface CapacitorSQLitePlugin {
    * @since 0.0.1
    */
   execute(options: capSQLiteExecuteOptions): Promise<capSQLiteChanges>;
+  /**
+   * Open a transaction on a connection (Android only)
+   * the next execute, executeSet, run and query calls join it
+   * until commitTransaction or rollbackTransaction
+   * @param options: capSQLiteTransactionOptions
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  beginTransaction(options: capSQLiteTransactionOptions): Promise<void>;
+  /**
+   * Commit the transaction opened by beginTransaction (Android only)
+   * @param options: capSQLiteOptions
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  commitTransaction(options: capSQLiteOptions): Promise<void>;
+  /**
+   * Roll back the transaction opened by beginTransaction (Android only)
+   * @param options: capSQLiteOptions
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  rollbackTransaction(options: capSQLiteOptions): Promise<void>;
   /**
    * Execute a Set of Raw Statements as Array of CapSQLiteSet
    * @param options: capSQLiteSetOptions
@@ -91,13 +114,117 @@ export interface CapacitorSQLitePlugin {
    * @since 0.0.1
    */
   run(options: capSQLiteRunOptions): Promise<capSQLiteChanges>;
+  /**
+   * Group the run calls of a connection (Android only)
+   * the run calls arriving within window ms, or up to maxBatch,
+   * are committed together, each in its own savepoint
+   * @param options: capSQLiteGroupCommitOptions
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  setGroupCommit(options: capSQLiteGroupCommitOptions): Promise<void>;
   /**
    * Query a Single Statement
+   * with columnar true, the values are returned as
+   * a capSQLiteColumnarValues object (Android only)
    * @param options: capSQLiteQueryOptions
-   * @returns Promise<capSQLiteValues>
+   * @returns Promise<capSQLiteValues> or Promise<capSQLiteColumnarResult>
    * @since 0.0.1
    */
+  query(
+    options: capSQLiteColumnarQueryOptions,
+  ): Promise<capSQLiteColumnarResult>;
   query(options: capSQLiteQueryOptions): Promise<capSQLiteValues>;
+  /**
+   * Open a cursor on a query for paged fetches (Android only)
+   * @param options: capSQLiteQueryOptions
+   * @returns Promise<capSQLiteCursor>
+   * @since 3.3.2
+   */
+  openCursor(options: capSQLiteQueryOptions): Promise<capSQLiteCursor>;
+  /**
+   * Fetch the next rows of an opened cursor (Android only)
+   * the cursor is closed once done
+   * @param options: capSQLiteFetchOptions
+   * @returns Promise<capSQLiteFetch>
+   * @since 3.3.2
+   */
+  fetch(options: capSQLiteFetchOptions): Promise<capSQLiteFetch>;
+  /**
+   * Close an opened cursor (Android only)
+   * @param options: capSQLiteCursorOptions
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  closeCursor(options: capSQLiteCursorOptions): Promise<capSQLiteResult>;
+  /**
+   * Get the statistics of a connection (Android only)
+   * @param options: capSQLiteOptions
+   * @returns Promise<capSQLiteStats>
+   * @since 3.3.2
+   */
+  getStats(options: capSQLiteOptions): Promise<capSQLiteStats>;
+  /**
+   * Watch a query (Android only)
+   * the query is re-run after the writes on its tables are committed
+   * and its changes are sent as a sqliteWatchQueryEvent
+   * {database, watchId, diff: {added, removed, updated}}
+   * or {database, watchId, error} when the query fails to re-run,
+   * e.g. when its key is not unique
+   * @param options: capSQLiteWatchOptions
+   * @returns Promise<capSQLiteWatch>
+   * @since 3.3.2
+   */
+  watchQuery(options: capSQLiteWatchOptions): Promise<capSQLiteWatch>;
+  /**
+   * Stop watching a query (Android only)
+   * @param options: capSQLiteUnwatchOptions
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  unwatchQuery(options: capSQLiteUnwatchOptions): Promise<capSQLiteResult>;
+  /**
+   * Cancel the execute, executeSet or query calls
+   * started with a requestId (Android only)
+   * the cancelled calls are rejected and their transaction rolled back
+   * @param options: capSQLiteCancelOptions
+   * @returns Promise<capSQLiteResult> false if no call was found
+   * @since 3.3.2
+   */
+  cancel(options: capSQLiteCancelOptions): Promise<capSQLiteResult>;
+  /**
+   * Configure the slow query log of a connection (Android only)
+   * when notify is true, each slow statement is also
+   * sent as a sqliteSlowQueryEvent {database, entry}
+   * @param options: capSQLiteSlowQueryLogOptions
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  setSlowQueryLog(options: capSQLiteSlowQueryLogOptions): Promise<capSQLiteResult>;
+  /**
+   * Get the statements recorded by the slow query log (Android only)
+   * values are {sql, duration, rows, plan, timestamp} objects
+   * @param options: capSQLiteSlowQueriesOptions
+   * @returns Promise<capSQLiteValues>
+   * @since 3.3.2
+   */
+  getSlowQueries(options: capSQLiteSlowQueriesOptions): Promise<capSQLiteValues>;
+  /**
+   * Read a chunk of a BLOB or TEXT cell (Android only)
+   * @param options: capSQLiteBlobOptions
+   * @returns Promise<capSQLiteBlob>
+   * @since 3.3.2
+   */
+  readBlob(options: capSQLiteBlobOptions): Promise<capSQLiteBlob>;
+  /**
+   * Write a chunk into a BLOB cell (Android only)
+   * the offset must not be greater than the current size,
+   * writing at the current size appends the chunk
+   * @param options: capSQLiteBlobOptions
+   * @returns Promise<capSQLiteChanges>
+   * @since 3.3.2
+   */
+  writeBlob(options: capSQLiteBlobOptions): Promise<capSQLiteChanges>;
   /**
    * Check if a SQLite database exists with opened connection
    * @param options: capSQLiteOptions
@@ -154,6 +281,26 @@ export interface CapacitorSQLitePlugin {
    * @since 2.0.1-1
    */
   exportToJson(options: capSQLiteExportOptions): Promise<capSQLiteJson>;
+  /**
+   * Import from a Json file of the app sandbox (Android only)
+   * the file is read by the native code, not passed through the bridge
+   * @param options: capSQLiteImportFileOptions
+   * @returns Promise<capSQLiteChanges>
+   * @since 3.3.2
+   */
+  importFromJsonFile(
+    options: capSQLiteImportFileOptions,
+  ): Promise<capSQLiteChanges>;
+  /**
+   * Export to a Json file of the app sandbox (Android only)
+   * only a summary of the export is returned
+   * @param options: capSQLiteExportFileOptions
+   * @returns Promise<capSQLiteExportFile>
+   * @since 3.3.2
+   */
+  exportToJsonFile(
+    options: capSQLiteExportFileOptions,
+  ): Promise<capSQLiteExportFile>;
   /**
    * Create a synchronization table
    * @param options: capSQLiteOptions
@@ -269,6 +416,72 @@ export interface capConnectionOptions {
    * ["encryption", "secret", "newsecret"]
    */
   mode?: string;
+  /**
+   * Set to true to open the database in WAL journal mode
+   * with a pool of read-only connections (Android only)
+   * @since 3.3.2
+   */
+  wal?: boolean;
+  /**
+   * The number of read-only connections in WAL mode
+   * default 2 (Android only)
+   * @since 3.3.2
+   */
+  readers?: number;
+  /**
+   * Run the maintenance tasks (WAL checkpoint, incremental
+   * vacuum, optimize) when the connection is idle (Android only)
+   * @since 3.3.2
+   */
+  maintenance?: capSQLiteMaintenanceOptions;
+  /**
+   * The time in ms SQLite waits for a lock held by
+   * another handle, PRAGMA busy_timeout
+   * default 2000 (Android only)
+   * @since 3.3.2
+   */
+  busyTimeout?: number;
+  /**
+   * The number of retries with backoff of a write
+   * failing with "database is locked"
+   * default 3 (Android only)
+   * @since 3.3.2
+   */
+  busyRetries?: number;
+}
+export interface capSQLiteMaintenanceOptions {
+  /**
+   * The period in ms of the idle check
+   * default 60000
+   */
+  interval?: number;
+  /**
+   * The time in ms without call after which the connection is idle
+   * default 30000
+   */
+  idle?: number;
+  /**
+   * The WAL file size in bytes above which it is checkpointed
+   * default 4194304
+   */
+  walSize?: number;
+  /**
+   * The number of free pages above which they are released
+   * only with PRAGMA auto_vacuum = INCREMENTAL
+   * default 256
+   */
+  freelistPages?: number;
+  /**
+   * The time in ms between two runs of PRAGMA optimize,
+   * kept across the app launches
+   * default 86400000
+   */
+  analyzeInterval?: number;
+  /**
+   * Run a full ANALYZE instead of PRAGMA optimize
+   * default false
+   */
+  fullAnalyze?: boolean;
 }
 export interface capAllConnectionsOptions {
   /**
@@ -298,6 +511,11 @@ export interface capSQLiteExecuteOptions {
    * @since 3.0.0-beta.10
    */
   transaction?: boolean;
+  /**
+   * An id given to cancel the call (Android only)
+   * @since 3.3.2
+   */
+  requestId?: string;
 }
 export interface capSQLiteSetOptions {
   /**
@@ -314,6 +532,11 @@ export interface capSQLiteSetOptions {
    * @since 3.0.0-beta.10
    */
   transaction?: boolean;
+  /**
+   * An id given to cancel the call (Android only)
+   * @since 3.3.2
+   */
+  requestId?: string;
 }
 export interface capSQLiteRunOptions {
   /**
@@ -350,6 +573,206 @@ export interface capSQLiteQueryOptions {
    * @since 3.0.0-beta.11
    */
   values?: any[];
+  /**
+   * Return the values as a capSQLiteColumnarValues object
+   * instead of one object per row (Android only)
+   * default false
+   * @since 3.3.2
+   */
+  columnar?: boolean;
+  /**
+   * Use the query result cache (Android only)
+   * the cached values are invalidated by any write
+   * on the tables read by the statement
+   * default false
+   * @since 3.3.2
+   */
+  cache?: boolean;
+  /**
+   * An id given to cancel the call (Android only)
+   * @since 3.3.2
+   */
+  requestId?: string;
+}
+export interface capSQLiteColumnarQueryOptions extends capSQLiteQueryOptions {
+  /**
+   * Return the values as a capSQLiteColumnarValues object
+   */
+  columnar: true;
+}
+export interface capSQLiteQueryFlags {
+  /**
+   * Use the query result cache (Android only)
+   * default false
+   */
+  cache?: boolean;
+  /**
+   * An id given to cancel the call (Android only)
+   */
+  requestId?: string;
+}
+export interface capSQLiteCursorOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The cursor handle returned by openCursor
+   */
+  handle?: number;
+}
+export interface capSQLiteFetchOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The cursor handle returned by openCursor
+   */
+  handle?: number;
+  /**
+   * The maximum number of rows to fetch
+   * default 100
+   */
+  count?: number;
+}
+export interface capSQLiteWatchOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * A read statement
+   */
+  statement?: string;
+  /**
+   * A set of values for the statement
+   */
+  values?: any[];
+  /**
+   * The column identifying a row, its values must be unique
+   * without key, updated rows are reported as removed and added
+   */
+  key?: string;
+  /**
+   * The delay in ms before re-running the query after a commit
+   * default 50
+   */
+  debounce?: number;
+}
+export interface capSQLiteUnwatchOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The watchId returned by watchQuery
+   */
+  watchId?: number;
+}
+export interface capSQLiteTransactionOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The transaction mode ["immediate", "exclusive"]
+   * default "immediate"
+   */
+  mode?: string;
+  /**
+   * The idle time in ms after which an abandoned
+   * transaction is rolled back, 0 to disable
+   * default 30000
+   */
+  timeout?: number;
+}
+export interface capSQLiteGroupCommitOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The time in ms a run call waits for others
+   * 0 disables the group commit
+   * default 0
+   */
+  window?: number;
+  /**
+   * The number of run calls committing a group at once
+   * default 50
+   */
+  maxBatch?: number;
+}
+export interface capSQLiteCancelOptions {
+  /**
+   * The requestId given to the calls to cancel
+   */
+  requestId?: string;
+}
+export interface capSQLiteSlowQueryLogOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The duration in ms above which a statement is recorded
+   * a negative value disables the log
+   */
+  threshold?: number;
+  /**
+   * The maximum number of recorded statements
+   * default 50
+   */
+  capacity?: number;
+  /**
+   * Send a sqliteSlowQueryEvent for each recorded statement
+   * default false
+   */
+  notify?: boolean;
+}
+export interface capSQLiteSlowQueriesOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * Empty the log after reading it
+   * default false
+   */
+  clear?: boolean;
+}
+export interface capSQLiteBlobOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The table name
+   */
+  table?: string;
+  /**
+   * The BLOB column name
+   */
+  column?: string;
+  /**
+   * The rowid of the row
+   */
+  rowid?: number;
+  /**
+   * The offset in bytes
+   * default 0
+   */
+  offset?: number;
+  /**
+   * The chunk length in bytes (readBlob)
+   * default 524288
+   */
+  length?: number;
+  /**
+   * The chunk to write as a base64 string (writeBlob)
+   */
+  data?: string;
 }
 export interface capSQLiteImportOptions {
   /**
@@ -357,6 +780,13 @@ export interface capSQLiteImportOptions {
    *
    */
   jsonstring?: string;
+  /**
+   * Create the indexes and triggers of a "full" import
+   * once the data loaded (Android only)
+   * default false
+   * @since 3.3.2
+   */
+  bulkLoad?: boolean;
 }
 export interface capSQLiteExportOptions {
   /**
@@ -370,6 +800,40 @@ export interface capSQLiteExportOptions {
    */
   jsonexportmode?: string;
 }
+export interface capSQLiteImportFileOptions {
+  /**
+   * The database name, by default the one of the Json Object
+   */
+  database?: string;
+  /**
+   * The file path, relative to the app files directory
+   * or absolute in the app files, cache or external files directories
+   */
+  path?: string;
+  /**
+   * Create the indexes and triggers of a "full" import
+   * once the data loaded
+   * default false
+   */
+  bulkLoad?: boolean;
+}
+export interface capSQLiteExportFileOptions {
+  /**
+   * The database name
+   */
+  database?: string;
+  /**
+   * The file path, relative to the app files directory
+   * or absolute in the app files, cache or external files directories
+   */
+  path?: string;
+  /**
+   * Set the mode to export JSON Object:
+   * "full" or "partial"
+   *
+   */
+  jsonexportmode?: string;
+}
 export interface capSQLiteFromAssetsOptions {
   /**
    * Set the overwrite mode for the copy from assets
@@ -473,12 +937,128 @@ export interface capSQLiteValues {
    */
   values?: any[];
 }
+export interface capSQLiteColumnarResult {
+  /**
+   * the data values as columns, types and rows
+   */
+  values?: capSQLiteColumnarValues;
+}
+export interface capSQLiteCursor {
+  /**
+   * the cursor handle
+   * cursors idle for more than 60s are closed
+   */
+  handle?: number;
+}
+export interface capSQLiteFetch {
+  /**
+   * the fetched rows
+   */
+  values?: any[];
+  /**
+   * true when the cursor is exhausted and closed
+   */
+  done?: boolean;
+}
+export interface capSQLiteWatch {
+  /**
+   * the watch id
+   */
+  watchId?: number;
+  /**
+   * the current values of the query
+   */
+  values?: any[];
+}
+export interface capSQLiteStats {
+  /**
+   * the compiled statement cache statistics
+   * {size, maxSize, hits, misses}
+   */
+  statementCache?: any;
+  /**
+   * the query result cache statistics
+   * {entries, maxEntries, bytes, maxBytes, hits, misses, hitRate, invalidations}
+   */
+  queryCache?: any;
+  /**
+   * the group commit statistics
+   * {window, maxBatch, batches, statements, pending}
+   */
+  groupCommit?: any;
+  /**
+   * the connection scheduler statistics, wait times in ms
+   * {interactive: {queued, completed, avgWait, maxWait}, bulk: {...}, yields}
+   */
+  scheduler?: any;
+  /**
+   * the idle maintenance statistics
+   * {enabled, runs, checkpoints, vacuumedPages, optimizes, lastRun}
+   */
+  maintenance?: any;
+  /**
+   * the lock errors statistics
+   * {busyTimeout, maxRetries, busyErrors, retries, recovered, exhausted}
+   */
+  busy?: any;
+}
+export interface capSQLiteBlob {
+  /**
+   * the chunk as a base64 string
+   */
+  data?: string;
+  /**
+   * the total size of the cell in bytes
+   */
+  size?: number;
+}
+export interface capSQLiteColumnarValues {
+  /**
+   * the column names
+   */
+  columns?: string[];
+  /**
+   * the column types (NULL, INTEGER, REAL, TEXT, BLOB)
+   * given by the first non null value of each column
+   */
+  types?: string[];
+  /**
+   * the rows as Arrays of values in column order
+   */
+  rows?: any[][];
+}
 export interface capSQLiteJson {
   /**
    * an export JSON object
    */
   export?: JsonSQLite;
 }
+export interface capSQLiteExportFile {
+  /**
+   * the absolute path of the written file
+   */
+  path?: string;
+  /**
+   * the database name
+   */
+  database?: string;
+  /**
+   * the export mode
+   */
+  mode?: string;
+  /**
+   * the number of tables written
+   */
+  tables?: number;
+  /**
+   * the number of rows written
+   */
+  rows?: number;
+  /**
+   * the number of views written
+   */
+  views?: number;
+}
 export interface capSQLiteSyncDate {
   /**
    * the synchronization date
@@ -674,6 +1254,9 @@ export interface ISQLiteConnection {
    * @param encrypted
    * @param mode
    * @param version
+   * @param wal (Android only) since 3.3.2
+   * @param readers (Android only) since 3.3.2
+   * @param maintenance (Android only) since 3.3.2
    * @returns Promise<SQLiteDBConnection>
    * @since 2.9.0 refactor
    */
@@ -682,6 +1265,9 @@ export interface ISQLiteConnection {
     encrypted: boolean,
     mode: string,
     version: number,
+    wal?: boolean,
+    readers?: number,
+    maintenance?: capSQLiteMaintenanceOptions,
   ): Promise<SQLiteDBConnection>;
   /**
    * Check if a connection exists
@@ -727,10 +1313,34 @@ export interface ISQLiteConnection {
   /**
    * Import a database From a JSON
    * @param jsonstring string
+   * @param bulkLoad (Android only) since 3.3.2
    * @returns Promise<capSQLiteChanges>
    * @since 2.9.0 refactor
    */
-  importFromJson(jsonstring: string): Promise<capSQLiteChanges>;
+  importFromJson(
+    jsonstring: string,
+    bulkLoad?: boolean,
+  ): Promise<capSQLiteChanges>;
+  /**
+   * Import a database from a Json file of the app sandbox (Android only)
+   * @param path
+   * @param database by default the one of the Json Object
+   * @param bulkLoad
+   * @returns Promise<capSQLiteChanges>
+   * @since 3.3.2
+   */
+  importFromJsonFile(
+    path: string,
+    database?: string,
+    bulkLoad?: boolean,
+  ): Promise<capSQLiteChanges>;
+  /**
+   * Cancel the calls started with a requestId (Android only)
+   * @param requestId
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  cancel(requestId: string): Promise<capSQLiteResult>;
   /**
    * Check the validity of a JSON Object
    * @param jsonstring string
@@ -834,6 +1444,9 @@ export class SQLiteConnection implements ISQLiteConnection {
     encrypted: boolean,
     mode: string,
     version: number,
+    wal?: boolean,
+    readers?: number,
+    maintenance?: capSQLiteMaintenanceOptions,
   ): Promise<SQLiteDBConnection> {
     try {
       if (database.endsWith('.db')) database = database.slice(0, -3);
@@ -842,6 +1455,9 @@ export class SQLiteConnection implements ISQLiteConnection {
         encrypted,
         mode,
         version,
+        wal,
+        readers,
+        maintenance,
       });
       const conn = new SQLiteDBConnection(database, this.sqlite);
       this._connectionDict.set(database, conn);
@@ -909,14 +1525,46 @@ export class SQLiteConnection implements ISQLiteConnection {
       return Promise.reject(err);
     }
   }
-  async importFromJson(jsonstring: string): Promise<capSQLiteChanges> {
+  async importFromJson(
+    jsonstring: string,
+    bulkLoad = false,
+  ): Promise<capSQLiteChanges> {
     try {
-      const ret = await this.sqlite.importFromJson({ jsonstring: jsonstring });
+      const ret = await this.sqlite.importFromJson({
+        jsonstring: jsonstring,
+        bulkLoad: bulkLoad,
+      });
       return Promise.resolve(ret);
     } catch (err) {
       return Promise.reject(err);
     }
   }
+  async importFromJsonFile(
+    path: string,
+    database?: string,
+    bulkLoad = false,
+  ): Promise<capSQLiteChanges> {
+    try {
+      if (database && database.endsWith('.db'))
+        database = database.slice(0, -3);
+      const ret = await this.sqlite.importFromJsonFile({
+        database: database,
+        path: path,
+        bulkLoad: bulkLoad,
+      });
+      return Promise.resolve(ret);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async cancel(requestId: string): Promise<capSQLiteResult> {
+    try {
+      const res = await this.sqlite.cancel({ requestId: requestId });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
   async isJsonValid(jsonstring: string): Promise<capSQLiteResult> {
     try {
       const ret = await this.sqlite.isJsonValid({ jsonstring: jsonstring });
@@ -985,18 +1633,43 @@ export interface ISQLiteDBConnection {
   /**
    * Execute SQLite DB Connection Statements
    * @param statements
+   * @param transaction (optional)
+   * @param requestId (optional, Android only) since 3.3.2
    * @returns Promise<capSQLiteChanges>
    * @since 2.9.0 refactor
    */
-  execute(statements: string, transaction?: boolean): Promise<capSQLiteChanges>;
+  execute(
+    statements: string,
+    transaction?: boolean,
+    requestId?: string,
+  ): Promise<capSQLiteChanges>;
   /**
    * Execute SQLite DB Connection Query
    * @param statement
    * @param values (optional)
+   * @param flags (optional, Android only) since 3.3.2
    * @returns Promise<Promise<capSQLiteValues>
    * @since 2.9.0 refactor
    */
-  query(statement: string, values?: any[]): Promise<capSQLiteValues>;
+  query(
+    statement: string,
+    values?: any[],
+    flags?: capSQLiteQueryFlags,
+  ): Promise<capSQLiteValues>;
+  /**
+   * Execute SQLite DB Connection Query returning
+   * columns, types and rows (Android only)
+   * @param statement
+   * @param values (optional)
+   * @param flags (optional)
+   * @returns Promise<capSQLiteColumnarResult>
+   * @since 3.3.2
+   */
+  queryColumnar(
+    statement: string,
+    values?: any[],
+    flags?: capSQLiteQueryFlags,
+  ): Promise<capSQLiteColumnarResult>;
   /**
    * Execute SQLite DB Connection Raw Statement
    * @param statement
@@ -1012,12 +1685,148 @@ export interface ISQLiteDBConnection {
   /**
    * Execute SQLite DB Connection Set
    * @param set
+   * @param transaction (optional)
+   * @param requestId (optional, Android only) since 3.3.2
    * @returns Promise<capSQLiteChanges>
    * @since 2.9.0 refactor
    */
   executeSet(
     set: capSQLiteSet[],
     transaction?: boolean,
+    requestId?: string,
+  ): Promise<capSQLiteChanges>;
+  /**
+   * Begin an explicit transaction (Android only)
+   * @param mode (optional) "immediate" or "exclusive"
+   * @param timeout (optional) idle time in ms before rollback
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  beginTransaction(mode?: string, timeout?: number): Promise<void>;
+  /**
+   * Commit the explicit transaction (Android only)
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  commitTransaction(): Promise<void>;
+  /**
+   * Roll back the explicit transaction (Android only)
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  rollbackTransaction(): Promise<void>;
+  /**
+   * Configure the group commit of the run calls (Android only)
+   * @param window in ms, 0 disables the group commit
+   * @param maxBatch (optional)
+   * @returns Promise<void>
+   * @since 3.3.2
+   */
+  setGroupCommit(window: number, maxBatch?: number): Promise<void>;
+  /**
+   * Open a cursor on a query for paged fetches (Android only)
+   * @param statement
+   * @param values (optional)
+   * @returns Promise<capSQLiteCursor>
+   * @since 3.3.2
+   */
+  openCursor(statement: string, values?: any[]): Promise<capSQLiteCursor>;
+  /**
+   * Fetch the next rows of an opened cursor (Android only)
+   * @param handle
+   * @param count (optional)
+   * @returns Promise<capSQLiteFetch>
+   * @since 3.3.2
+   */
+  fetch(handle: number, count?: number): Promise<capSQLiteFetch>;
+  /**
+   * Close an opened cursor (Android only)
+   * @param handle
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  closeCursor(handle: number): Promise<capSQLiteResult>;
+  /**
+   * Get the statistics of the connection (Android only)
+   * @returns Promise<capSQLiteStats>
+   * @since 3.3.2
+   */
+  getStats(): Promise<capSQLiteStats>;
+  /**
+   * Watch a query (Android only)
+   * @param statement
+   * @param values (optional)
+   * @param key (optional) the column identifying a row
+   * @param debounce (optional) in ms
+   * @returns Promise<capSQLiteWatch>
+   * @since 3.3.2
+   */
+  watchQuery(
+    statement: string,
+    values?: any[],
+    key?: string,
+    debounce?: number,
+  ): Promise<capSQLiteWatch>;
+  /**
+   * Stop watching a query (Android only)
+   * @param watchId
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  unwatchQuery(watchId: number): Promise<capSQLiteResult>;
+  /**
+   * Configure the slow query log (Android only)
+   * @param threshold in ms, a negative value disables the log
+   * @param capacity (optional)
+   * @param notify (optional)
+   * @returns Promise<capSQLiteResult>
+   * @since 3.3.2
+   */
+  setSlowQueryLog(
+    threshold: number,
+    capacity?: number,
+    notify?: boolean,
+  ): Promise<capSQLiteResult>;
+  /**
+   * Get the statements recorded by the slow query log (Android only)
+   * @param clear (optional)
+   * @returns Promise<capSQLiteValues>
+   * @since 3.3.2
+   */
+  getSlowQueries(clear?: boolean): Promise<capSQLiteValues>;
+  /**
+   * Read a chunk of a BLOB or TEXT cell (Android only)
+   * @param table
+   * @param column
+   * @param rowid
+   * @param offset (optional)
+   * @param length (optional)
+   * @returns Promise<capSQLiteBlob>
+   * @since 3.3.2
+   */
+  readBlob(
+    table: string,
+    column: string,
+    rowid: number,
+    offset?: number,
+    length?: number,
+  ): Promise<capSQLiteBlob>;
+  /**
+   * Write a chunk into a BLOB cell (Android only)
+   * @param table
+   * @param column
+   * @param rowid
+   * @param data the chunk as a base64 string
+   * @param offset (optional)
+   * @returns Promise<capSQLiteChanges>
+   * @since 3.3.2
+   */
+  writeBlob(
+    table: string,
+    column: string,
+    rowid: number,
+    data: string,
+    offset?: number,
   ): Promise<capSQLiteChanges>;
   /**
    * Check if a SQLite DB Connection exists
@@ -1070,6 +1879,14 @@ export interface ISQLiteDBConnection {
    * @since 2.9.0 refactor
    */
   exportToJson(mode: string): Promise<capSQLiteJson>;
+  /**
+   * Export the given database to a Json file of the app sandbox (Android only)
+   * @param mode
+   * @param path
+   * @returns Promise<capSQLiteExportFile>
+   * @since 3.3.2
+   */
+  exportToJsonFile(mode: string, path: string): Promise<capSQLiteExportFile>;
 }
 /**
  * SQLiteDBConnection Class
@@ -1108,34 +1925,53 @@ export class SQLiteDBConnection implements ISQLiteDBConnection {
   async execute(
     statements: string,
     transaction = true,
+    requestId?: string,
   ): Promise<capSQLiteChanges> {
     try {
       const res: any = await this.sqlite.execute({
         database: this.dbName,
         statements: statements,
         transaction: transaction,
+        requestId: requestId,
       });
       return Promise.resolve(res);
     } catch (err) {
       return Promise.reject(err);
     }
   }
-  async query(statement: string, values?: any[]): Promise<capSQLiteValues> {
+  async query(
+    statement: string,
+    values?: any[],
+    flags: capSQLiteQueryFlags = {},
+  ): Promise<capSQLiteValues> {
     let res: any;
     try {
-      if (values && values.length > 0) {
-        res = await this.sqlite.query({
-          database: this.dbName,
-          statement: statement,
-          values: values,
-        });
-      } else {
-        res = await this.sqlite.query({
-          database: this.dbName,
-          statement: statement,
-          values: [],
-        });
-      }
+      res = await this.sqlite.query({
+        database: this.dbName,
+        statement: statement,
+        values: values && values.length > 0 ? values : [],
+        cache: flags.cache,
+        requestId: flags.requestId,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async queryColumnar(
+    statement: string,
+    values?: any[],
+    flags: capSQLiteQueryFlags = {},
+  ): Promise<capSQLiteColumnarResult> {
+    try {
+      const res: capSQLiteColumnarResult = await this.sqlite.query({
+        database: this.dbName,
+        statement: statement,
+        values: values && values.length > 0 ? values : [],
+        columnar: true,
+        cache: flags.cache,
+        requestId: flags.requestId,
+      });
       return Promise.resolve(res);
     } catch (err) {
       return Promise.reject(err);
@@ -1172,12 +2008,14 @@ export class SQLiteDBConnection implements ISQLiteDBConnection {
   async executeSet(
     set: capSQLiteSet[],
     transaction = true,
+    requestId?: string,
   ): Promise<capSQLiteChanges> {
     try {
       const res: any = await this.sqlite.executeSet({
         database: this.dbName,
         set: set,
         transaction: transaction,
+        requestId: requestId,
       });
       //      }
       return Promise.resolve(res);
@@ -1185,6 +2023,194 @@ export class SQLiteDBConnection implements ISQLiteDBConnection {
       return Promise.reject(err);
     }
   }
+  async beginTransaction(mode?: string, timeout?: number): Promise<void> {
+    try {
+      await this.sqlite.beginTransaction({
+        database: this.dbName,
+        mode: mode,
+        timeout: timeout,
+      });
+      return Promise.resolve();
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async commitTransaction(): Promise<void> {
+    try {
+      await this.sqlite.commitTransaction({ database: this.dbName });
+      return Promise.resolve();
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async rollbackTransaction(): Promise<void> {
+    try {
+      await this.sqlite.rollbackTransaction({ database: this.dbName });
+      return Promise.resolve();
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async setGroupCommit(window: number, maxBatch?: number): Promise<void> {
+    try {
+      await this.sqlite.setGroupCommit({
+        database: this.dbName,
+        window: window,
+        maxBatch: maxBatch,
+      });
+      return Promise.resolve();
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async openCursor(
+    statement: string,
+    values?: any[],
+  ): Promise<capSQLiteCursor> {
+    try {
+      const res: capSQLiteCursor = await this.sqlite.openCursor({
+        database: this.dbName,
+        statement: statement,
+        values: values && values.length > 0 ? values : [],
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async fetch(handle: number, count?: number): Promise<capSQLiteFetch> {
+    try {
+      const res: capSQLiteFetch = await this.sqlite.fetch({
+        database: this.dbName,
+        handle: handle,
+        count: count,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async closeCursor(handle: number): Promise<capSQLiteResult> {
+    try {
+      const res: capSQLiteResult = await this.sqlite.closeCursor({
+        database: this.dbName,
+        handle: handle,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async getStats(): Promise<capSQLiteStats> {
+    try {
+      const res: capSQLiteStats = await this.sqlite.getStats({
+        database: this.dbName,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async watchQuery(
+    statement: string,
+    values?: any[],
+    key?: string,
+    debounce?: number,
+  ): Promise<capSQLiteWatch> {
+    try {
+      const res: capSQLiteWatch = await this.sqlite.watchQuery({
+        database: this.dbName,
+        statement: statement,
+        values: values && values.length > 0 ? values : [],
+        key: key,
+        debounce: debounce,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async unwatchQuery(watchId: number): Promise<capSQLiteResult> {
+    try {
+      const res: capSQLiteResult = await this.sqlite.unwatchQuery({
+        database: this.dbName,
+        watchId: watchId,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async setSlowQueryLog(
+    threshold: number,
+    capacity?: number,
+    notify?: boolean,
+  ): Promise<capSQLiteResult> {
+    try {
+      const res: capSQLiteResult = await this.sqlite.setSlowQueryLog({
+        database: this.dbName,
+        threshold: threshold,
+        capacity: capacity,
+        notify: notify,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async getSlowQueries(clear = false): Promise<capSQLiteValues> {
+    try {
+      const res: capSQLiteValues = await this.sqlite.getSlowQueries({
+        database: this.dbName,
+        clear: clear,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async readBlob(
+    table: string,
+    column: string,
+    rowid: number,
+    offset?: number,
+    length?: number,
+  ): Promise<capSQLiteBlob> {
+    try {
+      const res: capSQLiteBlob = await this.sqlite.readBlob({
+        database: this.dbName,
+        table: table,
+        column: column,
+        rowid: rowid,
+        offset: offset,
+        length: length,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
+  async writeBlob(
+    table: string,
+    column: string,
+    rowid: number,
+    data: string,
+    offset?: number,
+  ): Promise<capSQLiteChanges> {
+    try {
+      const res: capSQLiteChanges = await this.sqlite.writeBlob({
+        database: this.dbName,
+        table: table,
+        column: column,
+        rowid: rowid,
+        data: data,
+        offset: offset,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
   async isExists(): Promise<capSQLiteResult> {
     try {
       const res: any = await this.sqlite.isDBExists({
@@ -1269,4 +2295,19 @@ export class SQLiteDBConnection implements ISQLiteDBConnection {
       return Promise.reject(err);
     }
   }
+  async exportToJsonFile(
+    mode: string,
+    path: string,
+  ): Promise<capSQLiteExportFile> {
+    try {
+      const res: capSQLiteExportFile = await this.sqlite.exportToJsonFile({
+        database: this.dbName,
+        path: path,
+        jsonexportmode: mode,
+      });
+      return Promise.resolve(res);
+    } catch (err) {
+      return Promise.reject(err);
+    }
+  }
 }
@@ -8,8 +8,21 @@ import type {
   capSQLiteSetOptions,
   capSQLiteRunOptions,
   capSQLiteQueryOptions,
+  capSQLiteColumnarQueryOptions,
+  capSQLiteCursorOptions,
+  capSQLiteFetchOptions,
+  capSQLiteBlobOptions,
+  capSQLiteWatchOptions,
+  capSQLiteUnwatchOptions,
+  capSQLiteCancelOptions,
+  capSQLiteTransactionOptions,
+  capSQLiteGroupCommitOptions,
+  capSQLiteSlowQueryLogOptions,
+  capSQLiteSlowQueriesOptions,
   capSQLiteImportOptions,
   capSQLiteExportOptions,
+  capSQLiteImportFileOptions,
+  capSQLiteExportFileOptions,
   capSQLiteSyncDateOptions,
   capSQLiteUpgradeOptions,
   capSQLiteTableOptions,
@@ -19,7 +32,14 @@ import type {
   capSQLiteResult,
   capSQLiteChanges,
   capSQLiteValues,
+  capSQLiteColumnarResult,
+  capSQLiteCursor,
+  capSQLiteFetch,
+  capSQLiteBlob,
+  capSQLiteStats,
+  capSQLiteWatch,
   capSQLiteJson,
+  capSQLiteExportFile,
   capSQLiteSyncDate,
   capAllConnectionsOptions,
   capSetSecretOptions,
@@ -78,6 +98,18 @@ export class CapacitorSQLiteWeb
     throw new Error('Web platform is not supported.');
   }
 
+  async beginTransaction(_options: capSQLiteTransactionOptions): Promise<void> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async commitTransaction(_options: capSQLiteOptions): Promise<void> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async rollbackTransaction(_options: capSQLiteOptions): Promise<void> {
+    throw new Error('Web platform is not supported.');
+  }
+
   async executeSet(_options: capSQLiteSetOptions): Promise<capSQLiteChanges> {
     throw new Error('Web platform is not supported.');
   }
@@ -86,7 +118,61 @@ export class CapacitorSQLiteWeb
     throw new Error('Web platform is not supported.');
   }
 
-  async query(_options: capSQLiteQueryOptions): Promise<capSQLiteValues> {
+  async setGroupCommit(_options: capSQLiteGroupCommitOptions): Promise<void> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  query(
+    options: capSQLiteColumnarQueryOptions,
+  ): Promise<capSQLiteColumnarResult>;
+  query(options: capSQLiteQueryOptions): Promise<capSQLiteValues>;
+  async query(
+    _options: capSQLiteQueryOptions,
+  ): Promise<capSQLiteValues | capSQLiteColumnarResult> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async openCursor(_options: capSQLiteQueryOptions): Promise<capSQLiteCursor> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async fetch(_options: capSQLiteFetchOptions): Promise<capSQLiteFetch> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async closeCursor(_options: capSQLiteCursorOptions): Promise<capSQLiteResult> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async getStats(_options: capSQLiteOptions): Promise<capSQLiteStats> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async watchQuery(_options: capSQLiteWatchOptions): Promise<capSQLiteWatch> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async unwatchQuery(_options: capSQLiteUnwatchOptions): Promise<capSQLiteResult> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async cancel(_options: capSQLiteCancelOptions): Promise<capSQLiteResult> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async setSlowQueryLog(_options: capSQLiteSlowQueryLogOptions): Promise<capSQLiteResult> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async getSlowQueries(_options: capSQLiteSlowQueriesOptions): Promise<capSQLiteValues> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async readBlob(_options: capSQLiteBlobOptions): Promise<capSQLiteBlob> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async writeBlob(_options: capSQLiteBlobOptions): Promise<capSQLiteChanges> {
     throw new Error('Web platform is not supported.');
   }
 
@@ -128,6 +214,18 @@ export class CapacitorSQLiteWeb
     throw new Error('Web platform is not supported.');
   }
 
+  async importFromJsonFile(
+    _options: capSQLiteImportFileOptions,
+  ): Promise<capSQLiteChanges> {
+    throw new Error('Web platform is not supported.');
+  }
+
+  async exportToJsonFile(
+    _options: capSQLiteExportFileOptions,
+  ): Promise<capSQLiteExportFile> {
+    throw new Error('Web platform is not supported.');
+  }
+
   async createSyncTable(_options: capSQLiteOptions): Promise<capSQLiteChanges> {
     throw new Error('Web platform is not supported.');
   }